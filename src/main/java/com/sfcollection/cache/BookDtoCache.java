@@ -0,0 +1,132 @@
+package com.sfcollection.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sfcollection.dto.AuthorSummaryDTO;
+import com.sfcollection.dto.BookDTO;
+import com.sfcollection.dto.CollectionSummaryDTO;
+import com.sfcollection.event.AuthorChangedEvent;
+import com.sfcollection.event.BookChangedEvent;
+import com.sfcollection.event.CollectionChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// Single books as served by GET /api/v1/books/{id}, stored as JSON so every hit hands out its own copy.
+// Bounded by bytes rather than entries; Caffeine's W-TinyLFU admission keeps the frequently read books when a
+// one-off read would push them out
+@Component
+public class BookDtoCache implements MeterBinder {
+
+    private final Cache<Long, Entry> entries;
+    private final ObjectMapper objectMapper;
+
+    // Bumped by every invalidation, so a load that overlapped one is served but not kept
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public BookDtoCache(ObjectMapper objectMapper,
+                        @Value("${app.books.dto-cache.max-size:64MB}") DataSize maxSize,
+                        @Value("${app.books.dto-cache.ttl:30m}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Long id, Entry entry) -> entry.json().length)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    // Concurrent misses on the same id share one load
+    public BookDTO get(Long id, Supplier<BookDTO> loader) {
+        Entry cached = entries.getIfPresent(id);
+        if (cached != null) {
+            return read(cached);
+        }
+
+        long seen = invalidations.get();
+        BookDTO[] loaded = new BookDTO[1];
+        Entry entry = entries.get(id, key -> {
+            loaded[0] = loader.get();
+            return write(loaded[0]);
+        });
+        if (invalidations.get() != seen) {
+            entries.asMap().remove(id, entry);
+        }
+        return loaded[0] != null ? loaded[0] : read(entry);
+    }
+
+    public void invalidate(Collection<Long> bookIds) {
+        invalidations.incrementAndGet();
+        entries.invalidateAll(bookIds);
+    }
+
+    // After commit, so a reader can no longer load the state from before the change
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        invalidate(event.bookIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        invalidateIf(entry -> entry.authorIds().contains(event.authorId()));
+    }
+
+    // Covers the books whose links changed and every cached book that shows the collection's summary
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCollectionChanged(CollectionChangedEvent event) {
+        invalidate(event.bookIds());
+        invalidateIf(entry -> entry.collectionIds().contains(event.collectionId()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, entries, "book-dtos");
+    }
+
+    private void invalidateIf(Predicate<Entry> predicate) {
+        invalidations.incrementAndGet();
+        entries.asMap().values().removeIf(predicate);
+    }
+
+    private Entry write(BookDTO book) {
+        try {
+            return new Entry(objectMapper.writeValueAsBytes(book),
+                    ids(book.getAuthors(), AuthorSummaryDTO::getId),
+                    ids(book.getCollections(), CollectionSummaryDTO::getId));
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private BookDTO read(Entry entry) {
+        try {
+            return objectMapper.readValue(entry.json(), BookDTO.class);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static <T> Set<Long> ids(Set<T> summaries, Function<T, Long> id) {
+        return summaries == null ? Set.of() : summaries.stream().map(id).collect(Collectors.toUnmodifiableSet());
+    }
+
+    private record Entry(byte[] json, Set<Long> authorIds, Set<Long> collectionIds) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.sfcollection.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+@Component
+public class CountCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final int maxEntries;
+
+    public CountCache(@Value("${app.pagination.count-cache.ttl:60s}") Duration ttl,
+                      @Value("${app.pagination.count-cache.max-entries:10000}") int maxEntries) {
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+    }
+
+    public long get(String key, LongSupplier counter) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt() > now) {
+            return entry.count();
+        }
+
+        long count = counter.getAsLong();
+        put(key, count);
+        return count;
+    }
+
+    public void put(String key, long count) {
+        // Crude bound: the key space is open-ended for search criteria, so start over rather than grow forever
+        if (entries.size() >= maxEntries) {
+            entries.clear();
+        }
+        entries.put(key, new Entry(count, System.currentTimeMillis() + ttl.toMillis()));
+    }
+
+    private record Entry(long count, long expiresAt) {
+    }
+}
@@ -0,0 +1,111 @@
+package com.sfcollection.cache;
+
+import com.sfcollection.repository.BookRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Bloom filter of stored ISBNs, so the uniqueness check for an ISBN that was never stored skips the query.
+// A "might exist" answer still goes to the database. Writes add their ISBN before commit; ISBNs that are
+// deleted or changed stay in until the nightly rebuild, which only costs a query
+@Component
+public class IsbnFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(IsbnFilter.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final BookRepository bookRepository;
+    private final double falsePositiveRate;
+    private final long minCapacity;
+
+    // Null until the first load, so every check goes to the database until then
+    private volatile BloomFilter filter;
+
+    // Guards loading and added, and the switch to a rebuilt filter
+    private final Object lock = new Object();
+
+    // The filter a rebuild is loading, which writes made during the load also go into
+    private BloomFilter loading;
+
+    // Every ISBN added since the last rebuild started. A write can add its ISBN just before a rebuild starts and
+    // commit after the rebuild's scan has passed it, so the next rebuild copies these in before it is published
+    private Set<String> added = new HashSet<>();
+
+    public IsbnFilter(BookRepository bookRepository,
+                      @Value("${app.books.isbn-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                      @Value("${app.books.isbn-filter.min-capacity:100000}") long minCapacity) {
+        this.bookRepository = bookRepository;
+        this.falsePositiveRate = falsePositiveRate;
+        this.minCapacity = minCapacity;
+    }
+
+    public boolean mightExist(String isbn) {
+        BloomFilter current = filter;
+        return current == null || current.mightContain(isbn);
+    }
+
+    public void add(String isbn) {
+        synchronized (lock) {
+            if (filter != null) {
+                filter.put(isbn);
+            }
+            if (loading != null) {
+                loading.put(isbn);
+            }
+            added.add(isbn);
+        }
+    }
+
+    // Room for twice the current ISBNs keeps the false positive rate near its target until the next rebuild
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.books.isbn-filter.rebuild-cron:0 45 3 * * *}")
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        long stored = bookRepository.countByIsbnIsNotNull();
+        BloomFilter next = BloomFilter.create(Math.max(minCapacity, stored * 2), falsePositiveRate);
+        Set<String> addedBefore;
+        synchronized (lock) {
+            loading = next;
+            addedBefore = added;
+            added = new HashSet<>();
+        }
+
+        long loaded = 0;
+        try {
+            String last = "";
+            while (true) {
+                List<String> isbns = bookRepository.findIsbnsAfter(last, PageRequest.of(0, BATCH_SIZE));
+                if (isbns.isEmpty()) {
+                    break;
+                }
+                isbns.forEach(next::put);
+                loaded += isbns.size();
+                last = isbns.get(isbns.size() - 1);
+            }
+        } catch (RuntimeException ex) {
+            // Keeps the current filter, and the ISBNs the next rebuild still has to copy in
+            synchronized (lock) {
+                loading = null;
+                added.addAll(addedBefore);
+            }
+            throw ex;
+        }
+
+        synchronized (lock) {
+            addedBefore.forEach(next::put);
+            filter = next;
+            loading = null;
+        }
+        logger.info("Loaded {} ISBNs into the ISBN filter in {} ms", loaded, System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,84 @@
+package com.sfcollection.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sfcollection.event.BookChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// Book ids recently looked up and not found, so repeated probes for deleted or never-assigned ids answer 404
+// without a query. Kept briefly: ids come from a sequence, so a missing id can still be created later
+@Component
+public class MissingBookCache implements MeterBinder {
+
+    private final Cache<Long, Boolean> missing;
+
+    // Bumped by every saved book, so a lookup that overlapped the save is not remembered as missing
+    private final AtomicLong saves = new AtomicLong();
+
+    public MissingBookCache(@Value("${app.books.missing-cache.max-entries:100000}") long maxEntries,
+                            @Value("${app.books.missing-cache.ttl:30s}") Duration ttl) {
+        this.missing = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public boolean isKnownMissing(Long id) {
+        return missing.getIfPresent(id) != null;
+    }
+
+    public <T> Optional<T> find(Long id, Function<Long, Optional<T>> lookup) {
+        if (isKnownMissing(id)) {
+            return Optional.empty();
+        }
+        long seen = saves.get();
+        Optional<T> found = lookup.apply(id);
+        if (found.isEmpty()) {
+            remember(id, seen);
+        }
+        return found;
+    }
+
+    public boolean exists(Long id, Predicate<Long> lookup) {
+        if (isKnownMissing(id)) {
+            return false;
+        }
+        long seen = saves.get();
+        boolean exists = lookup.test(id);
+        if (!exists) {
+            remember(id, seen);
+        }
+        return exists;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (!event.deleted()) {
+            saves.incrementAndGet();
+            missing.invalidateAll(event.bookIds());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, missing, "missing-books");
+    }
+
+    private void remember(Long id, long seen) {
+        if (saves.get() == seen) {
+            missing.put(id, Boolean.TRUE);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.sfcollection.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sfcollection.dto.BookSearchDTO;
+import com.sfcollection.event.BookChangedEvent;
+import com.sfcollection.event.CollectionChangedEvent;
+import com.sfcollection.model.SubGenre;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Ids (and total) of a page of /api/v1/books/search results. Rather than working out which searches a write could
+// change, every write bumps a generation and entries from an older generation are searched again on next use
+@Component
+public class SearchResultCache implements MeterBinder {
+
+    private final Cache<Key, Entry> entries;
+    private final AtomicLong generation = new AtomicLong();
+
+    public SearchResultCache(@Value("${app.search.result-cache.max-entries:10000}") long maxEntries,
+                             @Value("${app.search.result-cache.ttl:10m}") Duration ttl) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public Slice<Long> get(Key key, Supplier<Slice<Long>> search) {
+        Entry cached = entries.getIfPresent(key);
+        if (cached != null && cached.generation() == generation.get()) {
+            return cached.ids();
+        }
+
+        // Computed under the key's lock, so concurrent misses on a cold key wait for a single search. The generation
+        // is read before searching, so a write that commits mid-search leaves the entry already stale
+        return entries.asMap().compute(key, (k, existing) -> {
+            long current = generation.get();
+            if (existing != null && existing.generation() == current) {
+                return existing;
+            }
+            return new Entry(search.get(), current);
+        }).ids();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        generation.incrementAndGet();
+    }
+
+    // Renaming a collection leaves every search as it was; changing its books does not
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCollectionChanged(CollectionChangedEvent event) {
+        if (event.deleted() || !event.bookIds().isEmpty()) {
+            generation.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, entries, "book-search-results");
+    }
+
+    // counted tells a Page with its total apart from a Slice of the same rows
+    public static Key key(BookSearchDTO criteria, Pageable pageable, boolean counted) {
+        return new Key(Criteria.of(criteria), pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort(), counted);
+    }
+
+    // Criteria that search the same way are equal: blank text counts as unset and the title match ignores case and
+    // surrounding whitespace, as BookSpecifications.titleContains does
+    public record Criteria(String title, String isbn, SubGenre subGenre, LocalDate publishedAfter,
+                           LocalDate publishedBefore, Long authorId, Long collectionId) {
+
+        public static Criteria of(BookSearchDTO criteria) {
+            if (criteria == null) {
+                return new Criteria(null, null, null, null, null, null, null);
+            }
+            return new Criteria(
+                    StringUtils.hasText(criteria.getTitle()) ? criteria.getTitle().trim().toLowerCase(Locale.ROOT) : null,
+                    StringUtils.hasText(criteria.getIsbn()) ? criteria.getIsbn() : null,
+                    criteria.getSubGenre(),
+                    criteria.getPublishedAfter(),
+                    criteria.getPublishedBefore(),
+                    criteria.getAuthorId(),
+                    criteria.getCollectionId());
+        }
+    }
+
+    public record Key(Criteria criteria, int page, int size, Sort sort, boolean counted) {
+    }
+
+    private record Entry(Slice<Long> ids, long generation) {
+    }
+}
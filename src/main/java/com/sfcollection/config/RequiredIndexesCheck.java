@@ -0,0 +1,71 @@
+package com.sfcollection.config;
+
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Runs after every migrate, so a start-up against a database whose indexes were dropped by hand fails before
+// JPA initializes, rather than degrading into sequential scans
+@Component
+@Profile("prod")
+public class RequiredIndexesCheck implements Callback {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequiredIndexesCheck.class);
+
+    private static final List<String> REQUIRED_INDEXES = List.of(
+            "idx_books_title_trgm",
+            "idx_authors_name_trgm",
+            "idx_books_sub_genre",
+            "idx_books_published_date",
+            "idx_books_title_id",
+            "idx_books_date_added_id",
+            "idx_authors_name",
+            "idx_book_author_book",
+            "idx_collection_book_book");
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.AFTER_MIGRATE;
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        Set<String> missing = new LinkedHashSet<>(REQUIRED_INDEXES);
+        try (PreparedStatement statement = context.getConnection().prepareStatement(
+                "SELECT indexname FROM pg_indexes WHERE schemaname = current_schema()");
+             ResultSet rows = statement.executeQuery()) {
+            while (rows.next()) {
+                missing.remove(rows.getString(1));
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not read the indexes of the current schema", ex);
+        }
+
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Required indexes are missing: " + String.join(", ", missing)
+                    + ". Recreate them from db/migration/V3__search_indexes.sql");
+        }
+        logger.info("All {} required indexes are in place", REQUIRED_INDEXES.size());
+    }
+
+    @Override
+    public String getCallbackName() {
+        return "requiredIndexes";
+    }
+}
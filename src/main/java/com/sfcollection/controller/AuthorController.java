@@ -1,17 +1,27 @@
 package com.sfcollection.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sfcollection.dto.AuthorDTO;
+import com.sfcollection.dto.ExpandOption;
+import com.sfcollection.dto.PageResponseDTO;
 import com.sfcollection.service.AuthorService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -24,6 +34,7 @@ import java.util.Map;
 public class AuthorController {
 
     private final AuthorService authorService;
+    private final ObjectMapper objectMapper;
     
     @PostMapping
     @Operation(summary = "Create a new author", description = "Creates a new author in the system")
@@ -42,8 +53,11 @@ public class AuthorController {
     @Operation(summary = "Get author by ID", description = "Retrieves an author by their ID")
     @ApiResponse(responseCode = "200", description = "Author found")
     @ApiResponse(responseCode = "404", description = "Author not found")
-    public ResponseEntity<Map<String, Object>> getAuthorById(@PathVariable Long id) {
-        AuthorDTO author = authorService.getAuthorById(id);
+    public ResponseEntity<Map<String, Object>> getAuthorById(
+            @PathVariable Long id,
+            @Parameter(description = "Set to books to embed every book instead of only the booksUrl link")
+            @RequestParam(required = false) String expand) {
+        AuthorDTO author = authorService.getAuthorById(id, expandBooks(expand));
         Map<String, Object> response = Map.of(
             "data", author,
             "meta", Map.of("timestamp", LocalDateTime.now())
@@ -52,26 +66,33 @@ public class AuthorController {
     }
     
     @GetMapping
-    @Operation(summary = "Get all authors", description = "Retrieves all authors in the system")
+    @Operation(summary = "Get all authors", description = "Retrieves authors page by page")
     @ApiResponse(responseCode = "200", description = "Authors retrieved successfully",
                content = @Content(schema = @Schema(implementation = AuthorDTO.class)))
-    public ResponseEntity<Map<String, Object>> getAllAuthors() {
-        List<AuthorDTO> authors = authorService.getAllAuthors();
-        Map<String, Object> response = Map.of(
-            "data", authors,
-            "meta", Map.of(
-                "timestamp", LocalDateTime.now(),
-                "total", authors.size()
-            )
-        );
-        return ResponseEntity.ok(response);
+    public ResponseEntity<PageResponseDTO<AuthorDTO>> getAllAuthors(
+            @Parameter(description = "Set to books to embed every book instead of only the booksUrl link")
+            @RequestParam(required = false) String expand,
+            @ParameterObject @PageableDefault(size = 10, sort = "name") Pageable pageable) {
+        Page<AuthorDTO> authors = authorService.getAllAuthors(pageable, expandBooks(expand));
+        return ResponseEntity.ok(PageResponseDTO.from(authors));
+    }
+    
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all authors",
+            description = "Streams every author as newline-delimited JSON in id order, without nested books")
+    @ApiResponse(responseCode = "200", description = "Authors streamed successfully")
+    public ResponseEntity<StreamingResponseBody> streamAuthors() {
+        return NdjsonResponses.stream(objectMapper, authorService::streamAuthors);
     }
     
     @GetMapping("/search")
     @Operation(summary = "Search authors by name", description = "Searches for authors whose names contain the search string")
     @ApiResponse(responseCode = "200", description = "Search results retrieved successfully")
-    public ResponseEntity<Map<String, Object>> searchAuthorsByName(@RequestParam String name) {
-        List<AuthorDTO> authors = authorService.searchAuthorsByName(name);
+    public ResponseEntity<Map<String, Object>> searchAuthorsByName(
+            @RequestParam String name,
+            @Parameter(description = "Set to books to embed every book instead of only the booksUrl link")
+            @RequestParam(required = false) String expand) {
+        List<AuthorDTO> authors = authorService.searchAuthorsByName(name, expandBooks(expand));
         Map<String, Object> response = Map.of(
             "data", authors,
             "meta", Map.of(
@@ -140,4 +161,8 @@ public class AuthorController {
         );
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+    
+    private boolean expandBooks(String expand) {
+        return ExpandOption.parse(expand).contains(ExpandOption.BOOKS);
+    }
+}
@@ -13,12 +13,16 @@ import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/v1/books")
 @RequiredArgsConstructor
@@ -55,20 +59,88 @@ public class BookController {
     @Operation(summary = "Get all books", description = "Retrieves all books with pagination and sorting")
     @ApiResponse(responseCode = "200", description = "Books retrieved successfully",
                content = @Content(schema = @Schema(implementation = BookDTO.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or unsupported sort for cursor pagination")
     public ResponseEntity<PageResponseDTO<BookDTO>> getAllBooks(
+            @Parameter(description = "Cursor from meta.next; pass an empty value to start cursor pagination")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Total count strategy: exact (default), estimated, or none to skip the COUNT query")
+            @RequestParam(defaultValue = "exact") String count,
             @ParameterObject @PageableDefault(size = 10, sort = "title") Pageable pageable) {
-        Page<BookDTO> books = bookService.getAllBooks(pageable);
-        return ResponseEntity.ok(PageResponseDTO.from(books));
+        if (after != null) {
+            return ResponseEntity.ok(getBooksAfter(null, after, pageable));
+        }
+        
+        CountMode countMode = CountMode.from(count);
+        Slice<BookDTO> books = bookService.getAllBooks(pageable, countMode);
+        return ResponseEntity.ok(PageResponseDTO.from(books, countMode));
     }
     
     @GetMapping("/search")
-    @Operation(summary = "Search books", description = "Search books by various criteria with pagination and sorting")
+    @Operation(summary = "Search books", description = "Search books by various criteria with pagination and sorting, "
+            + "or rank them by relevance to a free-text query with q")
     @ApiResponse(responseCode = "200", description = "Search results retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor or unsupported sort for cursor pagination")
     public ResponseEntity<PageResponseDTO<BookDTO>> searchBooks(
             @ParameterObject BookSearchDTO searchDTO,
+            @Parameter(description = "Free-text query over title, authors, publisher and description; "
+                    + "results are ranked by relevance and the other filters are ignored")
+            @RequestParam(required = false) String q,
+            @Parameter(description = "Cursor from meta.next; pass an empty value to start cursor pagination")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Total count strategy: exact (default), estimated, or none to skip the COUNT query")
+            @RequestParam(defaultValue = "exact") String count,
+            @Parameter(description = "Add meta.facets with counts per subGenre, readStatus, language and decade "
+                    + "over all books matching the filters")
+            @RequestParam(defaultValue = "false") boolean facets,
             @ParameterObject @PageableDefault(size = 10, sort = "title") Pageable pageable) {
-        Page<BookDTO> books = bookService.searchBooks(searchDTO, pageable);
-        return ResponseEntity.ok(PageResponseDTO.from(books));
+        if (StringUtils.hasText(q)) {
+            Page<BookDTO> books = bookService.fullTextSearch(q, pageable);
+            return ResponseEntity.ok(PageResponseDTO.from(books, Map.of("q", q)));
+        }
+        
+        PageResponseDTO<BookDTO> response;
+        if (after != null) {
+            response = getBooksAfter(searchDTO, after, pageable);
+        } else {
+            CountMode countMode = CountMode.from(count);
+            Slice<BookDTO> books = bookService.searchBooks(searchDTO, pageable, countMode);
+            response = PageResponseDTO.from(books, countMode);
+        }
+        
+        if (facets) {
+            response.getMeta().addAdditionalProperty("facets", bookService.getSearchFacets(searchDTO));
+        }
+        return ResponseEntity.ok(response);
+    }
+    
+    @GetMapping("/fuzzy")
+    @Operation(summary = "Fuzzy search books", description = "Typo-tolerant search over book titles and author names, "
+            + "ranked by trigram similarity")
+    @ApiResponse(responseCode = "200", description = "Search results retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Threshold outside (0, 1]")
+    public ResponseEntity<PageResponseDTO<BookDTO>> fuzzySearchBooks(
+            @Parameter(description = "Title or author name, possibly misspelled", required = true)
+            @RequestParam String q,
+            @Parameter(description = "Minimum similarity between 0 and 1; lower values tolerate more typos")
+            @RequestParam(defaultValue = "${app.search.trigram.threshold:0.3}") double threshold,
+            @ParameterObject @PageableDefault(size = 10) Pageable pageable) {
+        Page<BookDTO> books = bookService.fuzzySearch(q, threshold, pageable);
+        return ResponseEntity.ok(PageResponseDTO.from(books, Map.of("q", q, "threshold", threshold)));
+    }
+    
+    @GetMapping("/filter")
+    @Operation(summary = "Filter books", description = "Filters books with a boolean expression over subGenre, readStatus, "
+            + "language, year and decade, e.g. subGenre:CYBERPUNK AND NOT readStatus:COMPLETED. "
+            + "Answered from in-memory bitmaps; only the returned page is loaded from the database")
+    @ApiResponse(responseCode = "200", description = "Books retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid filter expression or sort")
+    public ResponseEntity<PageResponseDTO<BookDTO>> filterBooks(
+            @Parameter(description = "Filter expression using field:value terms combined with AND, OR, NOT and parentheses",
+                    required = true)
+            @RequestParam String filter,
+            @ParameterObject @PageableDefault(size = 10, sort = "id") Pageable pageable) {
+        Page<BookDTO> books = bookService.filterBooks(filter, pageable);
+        return ResponseEntity.ok(PageResponseDTO.from(books, Map.of("filter", filter)));
     }
     
     @GetMapping("/authors/{authorId}")
@@ -77,9 +149,12 @@ public class BookController {
     @ApiResponse(responseCode = "404", description = "Author not found")
     public ResponseEntity<PageResponseDTO<BookDTO>> getBooksByAuthor(
             @PathVariable Long authorId,
+            @Parameter(description = "Total count strategy: exact (default), estimated, or none to skip the COUNT query")
+            @RequestParam(defaultValue = "exact") String count,
             @ParameterObject @PageableDefault(size = 10, sort = "title") Pageable pageable) {
-        Page<BookDTO> books = bookService.getBooksByAuthor(authorId, pageable);
-        return ResponseEntity.ok(PageResponseDTO.from(books));
+        CountMode countMode = CountMode.from(count);
+        Slice<BookDTO> books = bookService.getBooksByAuthor(authorId, pageable, countMode);
+        return ResponseEntity.ok(PageResponseDTO.from(books, countMode));
     }
     
     @GetMapping("/collections/{collectionId}")
@@ -87,9 +162,12 @@ public class BookController {
     @ApiResponse(responseCode = "200", description = "Books retrieved successfully")
     public ResponseEntity<PageResponseDTO<BookDTO>> getBooksByCollection(
             @PathVariable Long collectionId,
+            @Parameter(description = "Total count strategy: exact (default), estimated, or none to skip the COUNT query")
+            @RequestParam(defaultValue = "exact") String count,
             @ParameterObject @PageableDefault(size = 10, sort = "title") Pageable pageable) {
-        Page<BookDTO> books = bookService.getBooksByCollection(collectionId, pageable);
-        return ResponseEntity.ok(PageResponseDTO.from(books));
+        CountMode countMode = CountMode.from(count);
+        Slice<BookDTO> books = bookService.getBooksByCollection(collectionId, pageable, countMode);
+        return ResponseEntity.ok(PageResponseDTO.from(books, countMode));
     }
     
     @PutMapping("/{id}")
@@ -137,32 +215,54 @@ public class BookController {
     }
     
     @PostMapping("/{bookId}/authors/{authorId}")
-    @Operation(summary = "Add author to book", description = "Adds an author to a book")
-    @ApiResponse(responseCode = "200", description = "Author added to book successfully")
+    @Operation(summary = "Add author to book",
+            description = "Links an author to a book. Returns 204 unless return=representation asks for the updated book")
+    @ApiResponse(responseCode = "204", description = "Author added to book successfully")
+    @ApiResponse(responseCode = "200", description = "Author added to book, updated book returned")
     @ApiResponse(responseCode = "404", description = "Book or author not found")
     @ApiResponse(responseCode = "401", description = "Unauthorized - authentication required")
     @ApiResponse(responseCode = "403", description = "Forbidden - not enough privileges")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<ResponseDTO<BookDTO>> addAuthorToBook(
             @PathVariable Long bookId, 
-            @PathVariable Long authorId) {
+            @PathVariable Long authorId,
+            @Parameter(description = "minimal (default) for an empty 204, or representation for the updated book")
+            @RequestParam(name = "return", defaultValue = "minimal") String returnMode) {
         
-        BookDTO updatedBook = bookService.addAuthorToBook(bookId, authorId);
-        return ResponseEntity.ok(ResponseDTO.of(updatedBook));
+        if (ReturnMode.from(returnMode) == ReturnMode.REPRESENTATION) {
+            BookDTO updatedBook = bookService.addAuthorToBook(bookId, authorId);
+            return ResponseEntity.ok(ResponseDTO.of(updatedBook));
+        }
+        bookService.linkAuthor(bookId, authorId);
+        return ResponseEntity.noContent().build();
     }
     
     @DeleteMapping("/{bookId}/authors/{authorId}")
-    @Operation(summary = "Remove author from book", description = "Removes an author from a book")
-    @ApiResponse(responseCode = "200", description = "Author removed from book successfully")
+    @Operation(summary = "Remove author from book",
+            description = "Unlinks an author from a book. Returns 204 unless return=representation asks for the updated book")
+    @ApiResponse(responseCode = "204", description = "Author removed from book successfully")
+    @ApiResponse(responseCode = "200", description = "Author removed from book, updated book returned")
     @ApiResponse(responseCode = "404", description = "Book or author not found")
     @ApiResponse(responseCode = "401", description = "Unauthorized - authentication required")
     @ApiResponse(responseCode = "403", description = "Forbidden - not enough privileges")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<ResponseDTO<BookDTO>> removeAuthorFromBook(
             @PathVariable Long bookId, 
-            @PathVariable Long authorId) {
+            @PathVariable Long authorId,
+            @Parameter(description = "minimal (default) for an empty 204, or representation for the updated book")
+            @RequestParam(name = "return", defaultValue = "minimal") String returnMode) {
         
-        BookDTO updatedBook = bookService.removeAuthorFromBook(bookId, authorId);
-        return ResponseEntity.ok(ResponseDTO.of(updatedBook));
+        if (ReturnMode.from(returnMode) == ReturnMode.REPRESENTATION) {
+            BookDTO updatedBook = bookService.removeAuthorFromBook(bookId, authorId);
+            return ResponseEntity.ok(ResponseDTO.of(updatedBook));
+        }
+        bookService.unlinkAuthor(bookId, authorId);
+        return ResponseEntity.noContent().build();
+    }
+    
+    private PageResponseDTO<BookDTO> getBooksAfter(BookSearchDTO searchDTO, String after, Pageable pageable) {
+        BookCursor cursor = BookCursor.decode(after, pageable.getSort());
+        Slice<BookDTO> books = bookService.getBooksAfter(searchDTO, cursor, pageable.getPageSize());
+        return PageResponseDTO.fromSlice(books, cursor.isFirst(), cursor.nextToken(books));
     }
-}
\ No newline at end of file
+}
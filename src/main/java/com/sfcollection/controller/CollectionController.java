@@ -1,17 +1,29 @@
 package com.sfcollection.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sfcollection.dto.BulkLinkResultDTO;
 import com.sfcollection.dto.CollectionDTO;
+import com.sfcollection.dto.ExpandOption;
+import com.sfcollection.dto.PageResponseDTO;
+import com.sfcollection.dto.ReturnMode;
 import com.sfcollection.service.CollectionService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -24,6 +36,7 @@ import java.util.Map;
 public class CollectionController {
 
     private final CollectionService collectionService;
+    private final ObjectMapper objectMapper;
     
     @PostMapping
     @Operation(summary = "Create a new collection", description = "Creates a new collection in the system")
@@ -42,8 +55,11 @@ public class CollectionController {
     @Operation(summary = "Get collection by ID", description = "Retrieves a collection by its ID")
     @ApiResponse(responseCode = "200", description = "Collection found")
     @ApiResponse(responseCode = "404", description = "Collection not found")
-    public ResponseEntity<Map<String, Object>> getCollectionById(@PathVariable Long id) {
-        CollectionDTO collection = collectionService.getCollectionById(id);
+    public ResponseEntity<Map<String, Object>> getCollectionById(
+            @PathVariable Long id,
+            @Parameter(description = "Set to books to embed every book instead of only the booksUrl link")
+            @RequestParam(required = false) String expand) {
+        CollectionDTO collection = collectionService.getCollectionById(id, expandBooks(expand));
         Map<String, Object> response = Map.of(
             "data", collection,
             "meta", Map.of("timestamp", LocalDateTime.now())
@@ -52,26 +68,33 @@ public class CollectionController {
     }
     
     @GetMapping
-    @Operation(summary = "Get all collections", description = "Retrieves all collections in the system")
+    @Operation(summary = "Get all collections", description = "Retrieves collections page by page")
     @ApiResponse(responseCode = "200", description = "Collections retrieved successfully",
                content = @Content(schema = @Schema(implementation = CollectionDTO.class)))
-    public ResponseEntity<Map<String, Object>> getAllCollections() {
-        List<CollectionDTO> collections = collectionService.getAllCollections();
-        Map<String, Object> response = Map.of(
-            "data", collections,
-            "meta", Map.of(
-                "timestamp", LocalDateTime.now(),
-                "total", collections.size()
-            )
-        );
-        return ResponseEntity.ok(response);
+    public ResponseEntity<PageResponseDTO<CollectionDTO>> getAllCollections(
+            @Parameter(description = "Set to books to embed every book instead of only the booksUrl link")
+            @RequestParam(required = false) String expand,
+            @ParameterObject @PageableDefault(size = 10, sort = "name") Pageable pageable) {
+        Page<CollectionDTO> collections = collectionService.getAllCollections(pageable, expandBooks(expand));
+        return ResponseEntity.ok(PageResponseDTO.from(collections));
+    }
+    
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all collections",
+            description = "Streams every collection as newline-delimited JSON in id order, without nested books")
+    @ApiResponse(responseCode = "200", description = "Collections streamed successfully")
+    public ResponseEntity<StreamingResponseBody> streamCollections() {
+        return NdjsonResponses.stream(objectMapper, collectionService::streamCollections);
     }
     
     @GetMapping("/search")
     @Operation(summary = "Search collections by name", description = "Searches for collections whose names contain the search string")
     @ApiResponse(responseCode = "200", description = "Search results retrieved successfully")
-    public ResponseEntity<Map<String, Object>> searchCollectionsByName(@RequestParam String name) {
-        List<CollectionDTO> collections = collectionService.searchCollectionsByName(name);
+    public ResponseEntity<Map<String, Object>> searchCollectionsByName(
+            @RequestParam String name,
+            @Parameter(description = "Set to books to embed every book instead of only the booksUrl link")
+            @RequestParam(required = false) String expand) {
+        List<CollectionDTO> collections = collectionService.searchCollectionsByName(name, expandBooks(expand));
         Map<String, Object> response = Map.of(
             "data", collections,
             "meta", Map.of(
@@ -110,53 +133,70 @@ public class CollectionController {
     }
     
     @PostMapping("/{collectionId}/books/{bookId}")
-    @Operation(summary = "Add book to collection", description = "Adds a book to a collection")
-    @ApiResponse(responseCode = "200", description = "Book added to collection successfully")
+    @Operation(summary = "Add book to collection",
+            description = "Adds a book to a collection. Returns 204 unless return=representation asks for the updated collection")
+    @ApiResponse(responseCode = "204", description = "Book added to collection successfully")
+    @ApiResponse(responseCode = "200", description = "Book added to collection, updated collection returned")
     @ApiResponse(responseCode = "404", description = "Collection or book not found")
     public ResponseEntity<Map<String, Object>> addBookToCollection(
             @PathVariable Long collectionId, 
-            @PathVariable Long bookId) {
+            @PathVariable Long bookId,
+            @RequestParam(name = "return", defaultValue = "minimal") String returnMode) {
         
-        CollectionDTO updatedCollection = collectionService.addBookToCollection(collectionId, bookId);
-        Map<String, Object> response = Map.of(
-            "data", updatedCollection,
-            "meta", Map.of("timestamp", LocalDateTime.now())
-        );
-        return ResponseEntity.ok(response);
+        if (ReturnMode.from(returnMode) == ReturnMode.REPRESENTATION) {
+            CollectionDTO updatedCollection = collectionService.addBookToCollection(collectionId, bookId);
+            Map<String, Object> response = Map.of(
+                "data", updatedCollection,
+                "meta", Map.of("timestamp", LocalDateTime.now())
+            );
+            return ResponseEntity.ok(response);
+        }
+        collectionService.linkBook(collectionId, bookId);
+        return ResponseEntity.noContent().build();
     }
     
     @PostMapping("/{collectionId}/books")
-    @Operation(summary = "Add multiple books to collection", description = "Adds multiple books to a collection")
+    @Operation(summary = "Add multiple books to collection",
+            description = "Adds many books to a collection in one batch and reports which were added, already present or missing")
     @ApiResponse(responseCode = "200", description = "Books added to collection successfully")
-    @ApiResponse(responseCode = "404", description = "Collection or one of the books not found")
+    @ApiResponse(responseCode = "400", description = "Too many or null book ids")
+    @ApiResponse(responseCode = "404", description = "Collection not found")
     public ResponseEntity<Map<String, Object>> addBooksToCollection(
             @PathVariable Long collectionId,
             @RequestBody List<Long> bookIds) {
         
-        CollectionDTO updatedCollection = collectionService.addBooksToCollection(collectionId, bookIds);
+        BulkLinkResultDTO result = collectionService.addBooksToCollection(collectionId, bookIds);
         Map<String, Object> response = Map.of(
-            "data", updatedCollection,
-            "meta", Map.of(
-                "timestamp", LocalDateTime.now(),
-                "addedBooks", bookIds.size()
-            )
+            "data", result,
+            "meta", Map.of("timestamp", LocalDateTime.now())
         );
         return ResponseEntity.ok(response);
     }
     
     @DeleteMapping("/{collectionId}/books/{bookId}")
-    @Operation(summary = "Remove book from collection", description = "Removes a book from a collection")
-    @ApiResponse(responseCode = "200", description = "Book removed from collection successfully")
+    @Operation(summary = "Remove book from collection",
+            description = "Removes a book from a collection. Returns 204 unless return=representation asks for the updated collection")
+    @ApiResponse(responseCode = "204", description = "Book removed from collection successfully")
+    @ApiResponse(responseCode = "200", description = "Book removed from collection, updated collection returned")
     @ApiResponse(responseCode = "404", description = "Collection or book not found")
     public ResponseEntity<Map<String, Object>> removeBookFromCollection(
             @PathVariable Long collectionId, 
-            @PathVariable Long bookId) {
+            @PathVariable Long bookId,
+            @RequestParam(name = "return", defaultValue = "minimal") String returnMode) {
         
-        CollectionDTO updatedCollection = collectionService.removeBookFromCollection(collectionId, bookId);
-        Map<String, Object> response = Map.of(
-            "data", updatedCollection,
-            "meta", Map.of("timestamp", LocalDateTime.now())
-        );
-        return ResponseEntity.ok(response);
+        if (ReturnMode.from(returnMode) == ReturnMode.REPRESENTATION) {
+            CollectionDTO updatedCollection = collectionService.removeBookFromCollection(collectionId, bookId);
+            Map<String, Object> response = Map.of(
+                "data", updatedCollection,
+                "meta", Map.of("timestamp", LocalDateTime.now())
+            );
+            return ResponseEntity.ok(response);
+        }
+        collectionService.unlinkBook(collectionId, bookId);
+        return ResponseEntity.noContent().build();
+    }
+    
+    private boolean expandBooks(String expand) {
+        return ExpandOption.parse(expand).contains(ExpandOption.BOOKS);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,46 @@
+package com.sfcollection.controller;
+
+import com.sfcollection.dto.BookImportResultDTO;
+import com.sfcollection.dto.ResponseDTO;
+import com.sfcollection.service.BookImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/v1/import")
+@RequiredArgsConstructor
+@Tag(name = "Import", description = "Bulk catalog import APIs")
+public class ImportController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final BookImportService bookImportService;
+
+    @PostMapping(value = "/books", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Import books from NDJSON",
+            description = "Reads one book per line and reports the rows that could not be imported")
+    @ApiResponse(responseCode = "200", description = "Import finished, see the report for failed rows")
+    public ResponseEntity<ResponseDTO<BookImportResultDTO>> importNdjson(InputStream body) {
+        return ResponseEntity.ok(ResponseDTO.of(bookImportService.importNdjson(body)));
+    }
+
+    @PostMapping(value = "/books", consumes = TEXT_CSV_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Import books from CSV",
+            description = "Reads a header row and one book per record and reports the rows that could not be imported")
+    @ApiResponse(responseCode = "200", description = "Import finished, see the report for failed rows")
+    public ResponseEntity<ResponseDTO<BookImportResultDTO>> importCsv(InputStream body) {
+        return ResponseEntity.ok(ResponseDTO.of(bookImportService.importCsv(body)));
+    }
+}
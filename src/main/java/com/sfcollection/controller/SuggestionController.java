@@ -0,0 +1,43 @@
+package com.sfcollection.controller;
+
+import com.sfcollection.dto.ResponseDTO;
+import com.sfcollection.dto.SuggestionDTO;
+import com.sfcollection.dto.SuggestionType;
+import com.sfcollection.service.SuggestionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/suggest")
+@RequiredArgsConstructor
+@Tag(name = "Suggestions", description = "Type-ahead APIs")
+public class SuggestionController {
+
+    private final SuggestionService suggestionService;
+    
+    @GetMapping
+    @Operation(summary = "Suggest completions", description = "Returns id and label pairs of authors, books or collections "
+            + "with a word starting with the prefix")
+    @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Unknown type or limit out of range")
+    public ResponseEntity<ResponseDTO<List<SuggestionDTO>>> suggest(
+            @Parameter(description = "What the user has typed so far", required = true)
+            @RequestParam String prefix,
+            @Parameter(description = "author, book or collection", required = true)
+            @RequestParam String type,
+            @Parameter(description = "Maximum number of suggestions (1-50)")
+            @RequestParam(defaultValue = "10") int limit) {
+        List<SuggestionDTO> suggestions = suggestionService.suggest(prefix, SuggestionType.from(type), limit);
+        return ResponseEntity.ok(ResponseDTO.of(suggestions));
+    }
+}
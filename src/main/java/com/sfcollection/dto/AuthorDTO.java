@@ -1,5 +1,6 @@
 package com.sfcollection.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -22,5 +23,8 @@ public class AuthorDTO {
     private String biography;
     private LocalDate birthDate;
     private String photoUrl;
+    // Only filled with ?expand=books; booksUrl pages through them otherwise
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private Set<BookSummaryDTO> books;
+    private String booksUrl;
 }
\ No newline at end of file
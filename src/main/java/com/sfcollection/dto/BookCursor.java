@@ -0,0 +1,102 @@
+package com.sfcollection.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class BookCursor {
+
+    public static final String SORT_TITLE = "title";
+    public static final String SORT_DATE_ADDED = "dateAdded";
+
+    private static final Set<String> SUPPORTED_SORTS = Set.of(SORT_TITLE, SORT_DATE_ADDED);
+
+    private final String property;
+    private final Sort.Direction direction;
+    private final String title;
+    private final LocalDateTime dateAdded;
+    private final Long id;
+
+    public boolean isFirst() {
+        return id == null;
+    }
+
+    // An empty token starts from the beginning of the requested sort order
+    public static BookCursor decode(String token, Sort sort) {
+        Sort.Order order = sortOrder(sort);
+
+        if (!StringUtils.hasText(token)) {
+            return new BookCursor(order.getProperty(), order.getDirection(), null, null, null);
+        }
+
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+
+        // property:direction:id:value - the value goes last because titles may contain ':'
+        String[] parts = decoded.split(":", 4);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+
+        if (!parts[0].equals(order.getProperty()) || !parts[1].equals(order.getDirection().name())) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort " + order);
+        }
+
+        try {
+            Long id = Long.valueOf(parts[2]);
+            if (SORT_TITLE.equals(order.getProperty())) {
+                return new BookCursor(order.getProperty(), order.getDirection(), parts[3], null, id);
+            }
+            return new BookCursor(order.getProperty(), order.getDirection(), null, LocalDateTime.parse(parts[3]), id);
+        } catch (NumberFormatException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        String value = SORT_TITLE.equals(property) ? title : dateAdded.toString();
+        String raw = property + ":" + direction.name() + ":" + id + ":" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public BookCursor after(BookDTO book) {
+        return new BookCursor(property, direction, book.getTitle(), book.getDateAdded(), book.getId());
+    }
+
+    public String nextToken(Slice<BookDTO> slice) {
+        if (!slice.hasNext() || !slice.hasContent()) {
+            return null;
+        }
+        List<BookDTO> content = slice.getContent();
+        return after(content.get(content.size() - 1)).encode();
+    }
+
+    private static Sort.Order sortOrder(Sort sort) {
+        List<Sort.Order> orders = sort.toList();
+        if (orders.isEmpty()) {
+            return Sort.Order.asc(SORT_TITLE);
+        }
+
+        Sort.Order order = orders.get(0);
+        if (orders.size() > 1 || !SUPPORTED_SORTS.contains(order.getProperty())) {
+            throw new IllegalArgumentException("Cursor pagination only supports sorting by a single field: title or dateAdded");
+        }
+        return order;
+    }
+}
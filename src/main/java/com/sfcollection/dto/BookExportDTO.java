@@ -0,0 +1,38 @@
+package com.sfcollection.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.sfcollection.model.ReadStatus;
+import com.sfcollection.model.SubGenre;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// One flat row per book; authors and collections are reduced to their names so CSV can hold them in a single column
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonPropertyOrder({"id", "title", "isbn", "subGenre", "publishedDate", "publisher", "language", "pageCount",
+        "rating", "readStatus", "coverImage", "description", "dateAdded", "authors", "collections"})
+public class BookExportDTO {
+    private Long id;
+    private String title;
+    private String isbn;
+    private SubGenre subGenre;
+    private LocalDate publishedDate;
+    private String publisher;
+    private String language;
+    private Integer pageCount;
+    private Float rating;
+    private ReadStatus readStatus;
+    private String coverImage;
+    private String description;
+    private LocalDateTime dateAdded;
+    private List<String> authors;
+    private List<String> collections;
+}
@@ -0,0 +1,25 @@
+package com.sfcollection.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Value -> number of matching books, most frequent first. Books without a value are not counted
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookFacetsDTO {
+    @Builder.Default
+    private Map<String, Long> subGenre = new LinkedHashMap<>();
+    @Builder.Default
+    private Map<String, Long> readStatus = new LinkedHashMap<>();
+    @Builder.Default
+    private Map<String, Long> language = new LinkedHashMap<>();
+    @Builder.Default
+    private Map<String, Long> decade = new LinkedHashMap<>();
+}
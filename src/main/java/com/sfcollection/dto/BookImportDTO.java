@@ -0,0 +1,52 @@
+package com.sfcollection.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.sfcollection.model.ReadStatus;
+import com.sfcollection.model.SubGenre;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Same columns as BookExportDTO so an export can be imported again; id, dateAdded and collections are ignored
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BookImportDTO {
+    @NotBlank(message = "Title is required")
+    @Size(max = 255, message = "Title must not exceed 255 characters")
+    private String title;
+    
+    @Size(max = 255, message = "ISBN must not exceed 255 characters")
+    private String isbn;
+    private LocalDate publishedDate;
+    
+    @Size(max = 4000, message = "Description must not exceed 4000 characters")
+    private String description;
+    private String coverImage;
+    private SubGenre subGenre;
+    private Integer pageCount;
+    private String publisher;
+    private String language;
+    
+    @Min(value = 1, message = "Rating must be at least 1")
+    @Max(value = 5, message = "Rating must not exceed 5")
+    private Float rating;
+    
+    private ReadStatus readStatus;
+    private List<@NotNull(message = "Author ids must not be null") Long> authorIds;
+    
+    // Author names; unknown names create the author
+    private List<@NotBlank(message = "Author names must not be blank")
+            @Size(max = 255, message = "Author names must not exceed 255 characters") String> authors;
+}
@@ -0,0 +1,16 @@
+package com.sfcollection.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookImportErrorDTO {
+    private long row;
+    private String isbn;
+    private String message;
+}
@@ -0,0 +1,21 @@
+package com.sfcollection.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookImportResultDTO {
+    private int imported;
+    private int failed;
+    // Only the first errors are listed; failed counts all of them
+    @Builder.Default
+    private List<BookImportErrorDTO> errors = new ArrayList<>();
+}
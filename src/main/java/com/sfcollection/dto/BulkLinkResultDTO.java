@@ -0,0 +1,20 @@
+package com.sfcollection.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkLinkResultDTO {
+    private int added;
+    private int alreadyPresent;
+    @Builder.Default
+    private List<Long> missing = new ArrayList<>();
+}
@@ -1,5 +1,6 @@
 package com.sfcollection.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,7 +21,10 @@ public class CollectionDTO {
     private String name;
     
     private String description;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private Set<BookSummaryDTO> books;
+    private String booksUrl;
+    private int bookCount;
     private LocalDateTime dateCreated;
     private LocalDateTime lastModified;
 }
\ No newline at end of file
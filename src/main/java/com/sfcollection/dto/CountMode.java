@@ -0,0 +1,22 @@
+package com.sfcollection.dto;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+public enum CountMode {
+    NONE,
+    EXACT,
+    ESTIMATED;
+
+    public static CountMode from(String value) {
+        try {
+            return CountMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            String allowed = Arrays.stream(values())
+                    .map(mode -> mode.name().toLowerCase(Locale.ROOT))
+                    .collect(Collectors.joining("|"));
+            throw new IllegalArgumentException("Invalid count mode '" + value + "', expected one of " + allowed);
+        }
+    }
+}
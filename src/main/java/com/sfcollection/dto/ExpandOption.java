@@ -0,0 +1,38 @@
+package com.sfcollection.dto;
+
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public enum ExpandOption {
+    BOOKS;
+
+    // Comma-separated, e.g. ?expand=books
+    public static Set<ExpandOption> parse(String value) {
+        Set<ExpandOption> options = EnumSet.noneOf(ExpandOption.class);
+        if (!StringUtils.hasText(value)) {
+            return options;
+        }
+        for (String part : value.split(",")) {
+            if (StringUtils.hasText(part)) {
+                options.add(from(part));
+            }
+        }
+        return options;
+    }
+
+    public static ExpandOption from(String value) {
+        try {
+            return ExpandOption.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            String allowed = Arrays.stream(values())
+                    .map(option -> option.name().toLowerCase(Locale.ROOT))
+                    .collect(Collectors.joining("|"));
+            throw new IllegalArgumentException("Invalid expand option '" + value + "', expected one of " + allowed);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.sfcollection.dto;
+
+// A summary together with the id of the entity it is listed under, e.g. an author of book ownerId
+public record OwnedSummary<T>(Long ownerId, T summary) {
+}
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -51,4 +52,36 @@ public class PageResponseDTO<T> {
                 .meta(meta)
                 .build();
     }
-}
\ No newline at end of file
+    
+    public static <T> PageResponseDTO<T> from(Slice<T> slice, CountMode countMode) {
+        if (slice instanceof Page<T> page) {
+            return countMode == CountMode.ESTIMATED
+                    ? from(page, Map.of("count", "estimated"))
+                    : from(page);
+        }
+        
+        return PageResponseDTO.<T>builder()
+                .data(slice.getContent())
+                .meta(PageMetaDTO.builder()
+                        .timestamp(LocalDateTime.now())
+                        .page(slice.getNumber())
+                        .size(slice.getSize())
+                        .last(!slice.hasNext())
+                        .first(slice.isFirst())
+                        .build())
+                .build();
+    }
+    
+    public static <T> PageResponseDTO<T> fromSlice(Slice<T> slice, boolean first, String next) {
+        return PageResponseDTO.<T>builder()
+                .data(slice.getContent())
+                .meta(PageMetaDTO.builder()
+                        .timestamp(LocalDateTime.now())
+                        .size(slice.getSize())
+                        .last(!slice.hasNext())
+                        .first(first)
+                        .next(next)
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.sfcollection.dto;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+// Mirrors the Prefer: return=minimal|representation values from RFC 7240
+public enum ReturnMode {
+    MINIMAL,
+    REPRESENTATION;
+
+    public static ReturnMode from(String value) {
+        try {
+            return ReturnMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            String allowed = Arrays.stream(values())
+                    .map(mode -> mode.name().toLowerCase(Locale.ROOT))
+                    .collect(Collectors.joining("|"));
+            throw new IllegalArgumentException("Invalid return mode '" + value + "', expected one of " + allowed);
+        }
+    }
+}
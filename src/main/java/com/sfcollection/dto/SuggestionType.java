@@ -0,0 +1,22 @@
+package com.sfcollection.dto;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+public enum SuggestionType {
+    AUTHOR,
+    BOOK,
+    COLLECTION;
+
+    public static SuggestionType from(String value) {
+        try {
+            return SuggestionType.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            String allowed = Arrays.stream(values())
+                    .map(type -> type.name().toLowerCase(Locale.ROOT))
+                    .collect(Collectors.joining("|"));
+            throw new IllegalArgumentException("Invalid suggestion type '" + value + "', expected one of " + allowed);
+        }
+    }
+}
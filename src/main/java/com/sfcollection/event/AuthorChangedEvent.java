@@ -0,0 +1,12 @@
+package com.sfcollection.event;
+
+public record AuthorChangedEvent(Long authorId, boolean deleted) {
+
+    public static AuthorChangedEvent saved(Long authorId) {
+        return new AuthorChangedEvent(authorId, false);
+    }
+
+    public static AuthorChangedEvent deleted(Long authorId) {
+        return new AuthorChangedEvent(authorId, true);
+    }
+}
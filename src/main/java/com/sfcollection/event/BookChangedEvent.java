@@ -0,0 +1,19 @@
+package com.sfcollection.event;
+
+import java.util.Collection;
+import java.util.Set;
+
+public record BookChangedEvent(Set<Long> bookIds, boolean deleted) {
+
+    public static BookChangedEvent saved(Long bookId) {
+        return new BookChangedEvent(Set.of(bookId), false);
+    }
+
+    public static BookChangedEvent saved(Collection<Long> bookIds) {
+        return new BookChangedEvent(Set.copyOf(bookIds), false);
+    }
+
+    public static BookChangedEvent deleted(Long bookId) {
+        return new BookChangedEvent(Set.of(bookId), true);
+    }
+}
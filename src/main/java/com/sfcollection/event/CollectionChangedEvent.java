@@ -0,0 +1,20 @@
+package com.sfcollection.event;
+
+import java.util.Collection;
+import java.util.Set;
+
+// bookIds lists the books added to or removed from the collection, if any
+public record CollectionChangedEvent(Long collectionId, Set<Long> bookIds, boolean deleted) {
+
+    public static CollectionChangedEvent saved(Long collectionId) {
+        return new CollectionChangedEvent(collectionId, Set.of(), false);
+    }
+
+    public static CollectionChangedEvent booksChanged(Long collectionId, Collection<Long> bookIds) {
+        return new CollectionChangedEvent(collectionId, Set.copyOf(bookIds), false);
+    }
+
+    public static CollectionChangedEvent deleted(Long collectionId) {
+        return new CollectionChangedEvent(collectionId, Set.of(), true);
+    }
+}
@@ -0,0 +1,31 @@
+package com.sfcollection.job;
+
+import com.sfcollection.service.CollectionService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class CollectionBookCountRepairJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(CollectionBookCountRepairJob.class);
+
+    private final CollectionService collectionService;
+
+    // Also runs at startup so rows that predate the column, or were edited outside the API, are corrected
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.collections.book-count-repair.cron:0 30 3 * * *}")
+    public void repair() {
+        int repaired = collectionService.repairBookCounts();
+        if (repaired > 0) {
+            logger.warn("Repaired book counts on {} collections", repaired);
+        } else {
+            logger.debug("Collection book counts are consistent");
+        }
+    }
+}
@@ -3,8 +3,10 @@ package com.sfcollection.mapper;
 import com.sfcollection.dto.AuthorDTO;
 import com.sfcollection.dto.AuthorSummaryDTO;
 import com.sfcollection.model.Author;
+import org.mapstruct.IterableMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 
 import java.util.List;
 import java.util.Set;
@@ -12,15 +14,30 @@ import java.util.Set;
 @Mapper(componentModel = "spring", uses = {BookMapper.class})
 public interface AuthorMapper {
     
+    @Named("withBooks")
     @Mapping(target = "books", source = "books")
+    @Mapping(target = "booksUrl", expression = "java(booksUrl(author))")
     AuthorDTO toDto(Author author);
     
+    @Named("withoutBooks")
+    @Mapping(target = "books", ignore = true)
+    @Mapping(target = "booksUrl", expression = "java(booksUrl(author))")
+    AuthorDTO toDtoWithoutBooks(Author author);
+    
     @Mapping(target = "books", ignore = true)
     Author toEntity(AuthorDTO authorDTO);
     
+    @IterableMapping(qualifiedByName = "withBooks")
     List<AuthorDTO> toDtoList(List<Author> authors);
     
+    @IterableMapping(qualifiedByName = "withoutBooks")
+    List<AuthorDTO> toDtoListWithoutBooks(List<Author> authors);
+    
     AuthorSummaryDTO toSummaryDto(Author author);
     
     Set<AuthorSummaryDTO> toSummaryDtoSet(Set<Author> authors);
-}
\ No newline at end of file
+    
+    default String booksUrl(Author author) {
+        return author.getId() != null ? "/api/v1/books/authors/" + author.getId() : null;
+    }
+}
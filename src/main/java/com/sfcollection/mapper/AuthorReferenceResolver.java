@@ -0,0 +1,65 @@
+package com.sfcollection.mapper;
+
+import com.sfcollection.exception.ResourceNotFoundException;
+import com.sfcollection.model.Author;
+import com.sfcollection.repository.AuthorRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+public class AuthorReferenceResolver {
+
+    private final AuthorRepository authorRepository;
+
+    public Set<Author> resolve(Set<Long> ids) {
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Author ids must not contain null");
+        }
+
+        Map<Long, Author> cache = identityCache();
+        List<Long> uncached = ids.stream().filter(id -> !cache.containsKey(id)).toList();
+        if (!uncached.isEmpty()) {
+            authorRepository.findAllById(uncached).forEach(author -> cache.put(author.getId(), author));
+        }
+
+        List<Long> missing = ids.stream().filter(id -> !cache.containsKey(id)).sorted().toList();
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Authors not found with ids: " + missing);
+        }
+
+        Set<Author> authors = new HashSet<>();
+        ids.forEach(id -> authors.add(cache.get(id)));
+        return authors;
+    }
+
+    // Lives as long as the surrounding transaction, so repeated ids across a batch of books resolve once
+    @SuppressWarnings("unchecked")
+    private Map<Long, Author> identityCache() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new HashMap<>();
+        }
+
+        Map<Long, Author> cache = (Map<Long, Author>) TransactionSynchronizationManager.getResource(this);
+        if (cache == null) {
+            cache = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, cache);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AuthorReferenceResolver.this);
+                }
+            });
+        }
+        return cache;
+    }
+}
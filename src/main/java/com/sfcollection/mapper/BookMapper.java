@@ -3,15 +3,17 @@ package com.sfcollection.mapper;
 import com.sfcollection.dto.*;
 import com.sfcollection.model.Author;
 import com.sfcollection.model.Book;
-import com.sfcollection.repository.AuthorRepository;
+import com.sfcollection.model.Collection;
 import org.mapstruct.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Mapper(componentModel = "spring", 
         uses = {AuthorMapper.class, CollectionMapper.class},
@@ -19,12 +21,20 @@ import java.util.stream.Collectors;
 public abstract class BookMapper {
     
     @Autowired
-    private AuthorRepository authorRepository;
+    private AuthorReferenceResolver authorReferenceResolver;
+    
+    @Autowired
+    private SummaryLoader summaryLoader;
     
     @Mapping(target = "authors", source = "authors")
     @Mapping(target = "collections", source = "collections")
     public abstract BookDTO toDto(Book book);
     
+    @Named("withoutLinks")
+    @Mapping(target = "authors", ignore = true)
+    @Mapping(target = "collections", ignore = true)
+    protected abstract BookDTO toDtoWithoutLinks(Book book);
+    
     @Mapping(target = "authors", ignore = true)
     @Mapping(target = "collections", ignore = true)
     public abstract Book toEntity(BookDTO bookDTO);
@@ -33,6 +43,7 @@ public abstract class BookMapper {
     @Mapping(target = "collections", ignore = true)
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "dateAdded", ignore = true)
+    @BeanMapping(builder = @Builder(disableBuilder = true))
     public abstract Book createDtoToEntity(BookCreateDTO createDTO);
     
     @Mapping(target = "authors", ignore = true)
@@ -47,24 +58,50 @@ public abstract class BookMapper {
     @Mapping(target = "dateAdded", ignore = true)
     public abstract void patchDtoToEntity(BookPatchDTO patchDTO, @MappingTarget Book book);
     
-    public abstract List<BookDTO> toDtoList(List<Book> books);
+    @Mapping(target = "authors", ignore = true)
+    @Mapping(target = "collections", ignore = true)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "dateAdded", ignore = true)
+    public abstract Book importDtoToEntity(BookImportDTO importDTO);
+    
+    // Listings take their authors and collections from projections rather than the lazy sets of each book
+    public List<BookDTO> toDtoList(List<Book> books) {
+        List<BookDTO> dtos = books.stream().map(this::toDtoWithoutLinks).toList();
+        summaryLoader.loadAuthorsAndCollections(dtos);
+        return dtos;
+    }
     
     public Page<BookDTO> toDtoPage(Page<Book> books) {
-        return books.map(this::toDto);
+        return new PageImpl<>(toDtoList(books.getContent()), books.getPageable(), books.getTotalElements());
+    }
+    
+    public Slice<BookDTO> toDtoSlice(Slice<Book> books) {
+        return new SliceImpl<>(toDtoList(books.getContent()), books.getPageable(), books.hasNext());
     }
     
     public abstract BookSummaryDTO toSummaryDto(Book book);
     
     public abstract List<BookSummaryDTO> toSummaryDtoList(List<Book> books);
     
+    @Mapping(target = "authors", source = "authors", qualifiedByName = "authorNames")
+    @Mapping(target = "collections", source = "collections", qualifiedByName = "collectionNames")
+    public abstract BookExportDTO toExportDto(Book book);
+    
+    @Named("authorNames")
+    protected List<String> authorNames(Set<Author> authors) {
+        return authors.stream().map(Author::getName).sorted().toList();
+    }
+    
+    @Named("collectionNames")
+    protected List<String> collectionNames(Set<Collection> collections) {
+        return collections.stream().map(Collection::getName).sorted().toList();
+    }
+    
+    // Book.authors is the inverse side, so this is in memory only; BookServiceImpl writes the book_author rows
     @AfterMapping
     protected void setAuthorsFromIds(BookCreateDTO createDTO, @MappingTarget Book book) {
         if (createDTO.getAuthorIds() != null && !createDTO.getAuthorIds().isEmpty()) {
-            Set<Author> authors = createDTO.getAuthorIds().stream()
-                    .map(id -> authorRepository.findById(id).orElse(null))
-                    .filter(author -> author != null)
-                    .collect(Collectors.toSet());
-            book.setAuthors(authors);
+            book.setAuthors(authorReferenceResolver.resolve(createDTO.getAuthorIds()));
         } else {
             book.setAuthors(new HashSet<>());
         }
@@ -73,22 +110,14 @@ public abstract class BookMapper {
     @AfterMapping
     protected void setAuthorsFromIds(BookUpdateDTO updateDTO, @MappingTarget Book book) {
         if (updateDTO.getAuthorIds() != null) {
-            Set<Author> authors = updateDTO.getAuthorIds().stream()
-                    .map(id -> authorRepository.findById(id).orElse(null))
-                    .filter(author -> author != null)
-                    .collect(Collectors.toSet());
-            book.setAuthors(authors);
+            book.setAuthors(authorReferenceResolver.resolve(updateDTO.getAuthorIds()));
         }
     }
     
     @AfterMapping
     protected void setAuthorsFromIds(BookPatchDTO patchDTO, @MappingTarget Book book) {
         if (patchDTO.getAuthorIds() != null) {
-            Set<Author> authors = patchDTO.getAuthorIds().stream()
-                    .map(id -> authorRepository.findById(id).orElse(null))
-                    .filter(author -> author != null)
-                    .collect(Collectors.toSet());
-            book.setAuthors(authors);
+            book.setAuthors(authorReferenceResolver.resolve(patchDTO.getAuthorIds()));
         }
     }
-}
\ No newline at end of file
+}
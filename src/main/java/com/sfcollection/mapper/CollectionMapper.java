@@ -3,6 +3,7 @@ package com.sfcollection.mapper;
 import com.sfcollection.dto.CollectionDTO;
 import com.sfcollection.dto.CollectionSummaryDTO;
 import com.sfcollection.model.Collection;
+import org.mapstruct.IterableMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
@@ -13,21 +14,31 @@ import java.util.Set;
 @Mapper(componentModel = "spring", uses = {BookMapper.class})
 public interface CollectionMapper {
     
+    @Named("withBooks")
     @Mapping(target = "books", source = "books")
+    @Mapping(target = "booksUrl", expression = "java(booksUrl(collection))")
     CollectionDTO toDto(Collection collection);
     
+    @Named("withoutBooks")
     @Mapping(target = "books", ignore = true)
+    @Mapping(target = "booksUrl", expression = "java(booksUrl(collection))")
+    CollectionDTO toDtoWithoutBooks(Collection collection);
+    
+    @Mapping(target = "books", ignore = true)
+    @Mapping(target = "bookCount", ignore = true)
     Collection toEntity(CollectionDTO collectionDTO);
     
+    @IterableMapping(qualifiedByName = "withBooks")
     List<CollectionDTO> toDtoList(List<Collection> collections);
     
-    @Mapping(target = "bookCount", source = "books", qualifiedByName = "countBooks")
+    @IterableMapping(qualifiedByName = "withoutBooks")
+    List<CollectionDTO> toDtoListWithoutBooks(List<Collection> collections);
+    
     CollectionSummaryDTO toSummaryDto(Collection collection);
     
     Set<CollectionSummaryDTO> toSummaryDtoSet(Set<Collection> collections);
     
-    @Named("countBooks")
-    default int countBooks(Set<?> books) {
-        return books != null ? books.size() : 0;
+    default String booksUrl(Collection collection) {
+        return collection.getId() != null ? "/api/v1/books/collections/" + collection.getId() : null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,72 @@
+package com.sfcollection.mapper;
+
+import com.sfcollection.dto.AuthorDTO;
+import com.sfcollection.dto.AuthorSummaryDTO;
+import com.sfcollection.dto.BookDTO;
+import com.sfcollection.dto.BookSummaryDTO;
+import com.sfcollection.dto.CollectionDTO;
+import com.sfcollection.dto.CollectionSummaryDTO;
+import com.sfcollection.dto.OwnedSummary;
+import com.sfcollection.repository.AuthorRepository;
+import com.sfcollection.repository.BookRepository;
+import com.sfcollection.repository.CollectionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Fills the nested summaries of already mapped DTOs from projection queries, one per association for the whole
+// list, so the related rows are never hydrated as managed entities
+@Component
+@RequiredArgsConstructor
+public class SummaryLoader {
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final CollectionRepository collectionRepository;
+
+    public void loadAuthorsAndCollections(List<BookDTO> books) {
+        if (books.isEmpty()) {
+            return;
+        }
+        List<Long> ids = ids(books, BookDTO::getId);
+        Map<Long, Set<AuthorSummaryDTO>> authors = byOwner(authorRepository.findSummariesByBookIds(ids));
+        Map<Long, Set<CollectionSummaryDTO>> collections = byOwner(collectionRepository.findSummariesByBookIds(ids));
+        books.forEach(book -> {
+            book.setAuthors(authors.getOrDefault(book.getId(), new HashSet<>()));
+            book.setCollections(collections.getOrDefault(book.getId(), new HashSet<>()));
+        });
+    }
+
+    public void loadBooksOfAuthors(List<AuthorDTO> authors) {
+        if (authors.isEmpty()) {
+            return;
+        }
+        Map<Long, Set<BookSummaryDTO>> books =
+                byOwner(bookRepository.findSummariesByAuthorIds(ids(authors, AuthorDTO::getId)));
+        authors.forEach(author -> author.setBooks(books.getOrDefault(author.getId(), new HashSet<>())));
+    }
+
+    public void loadBooksOfCollections(List<CollectionDTO> collections) {
+        if (collections.isEmpty()) {
+            return;
+        }
+        Map<Long, Set<BookSummaryDTO>> books =
+                byOwner(bookRepository.findSummariesByCollectionIds(ids(collections, CollectionDTO::getId)));
+        collections.forEach(collection -> collection.setBooks(books.getOrDefault(collection.getId(), new HashSet<>())));
+    }
+
+    private static <T> List<Long> ids(List<T> dtos, Function<T, Long> id) {
+        return dtos.stream().map(id).distinct().toList();
+    }
+
+    private static <T> Map<Long, Set<T>> byOwner(List<OwnedSummary<T>> rows) {
+        return rows.stream().collect(Collectors.groupingBy(OwnedSummary::ownerId,
+                Collectors.mapping(OwnedSummary::summary, Collectors.toCollection(HashSet::new))));
+    }
+}
@@ -6,6 +6,10 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.util.HashSet;
@@ -13,21 +17,30 @@ import java.util.Set;
 
 @Entity
 @Table(name = "authors")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "authors")
+@NamedEntityGraph(name = Author.WITH_BIOGRAPHY, attributeNodes = @NamedAttributeNode("biography"))
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Author {
 
+    public static final String WITH_BIOGRAPHY = "Author.withBiography";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "authors_seq")
+    @SequenceGenerator(name = "authors_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
     @Column(nullable = false)
     private String name;
 
+    // Only read where an AuthorDTO is rendered (WITH_BIOGRAPHY); the authors loaded for every page of books skip it
+    @Basic(fetch = FetchType.LAZY)
     @Column(length = 4000)
+    @ToString.Exclude
     private String biography;
 
     private LocalDate birthDate;
@@ -40,6 +53,24 @@ public class Author {
         joinColumns = @JoinColumn(name = "author_id"),
         inverseJoinColumns = @JoinColumn(name = "book_id")
     )
+    @BatchSize(size = 50)
     @Builder.Default
+    @ToString.Exclude
     private Set<Book> books = new HashSet<>();
-}
\ No newline at end of file
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Author other)) {
+            return false;
+        }
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -6,6 +6,11 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -13,6 +18,8 @@ import java.util.Set;
 
 @Entity
 @Table(name = "collections")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "collections")
 @Data
 @Builder
 @NoArgsConstructor
@@ -20,7 +27,8 @@ import java.util.Set;
 public class Collection {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "collections_seq")
+    @SequenceGenerator(name = "collections_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -36,9 +44,17 @@ public class Collection {
         joinColumns = @JoinColumn(name = "collection_id"),
         inverseJoinColumns = @JoinColumn(name = "book_id")
     )
+    @BatchSize(size = 50)
     @Builder.Default
+    @ToString.Exclude
     private Set<Book> books = new HashSet<>();
 
+    // Denormalized size of books so summaries never initialize the set; kept in step by CollectionServiceImpl
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @Builder.Default
+    private int bookCount = 0;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime dateCreated;
 
@@ -54,4 +70,20 @@ public class Collection {
     protected void onUpdate() {
         lastModified = LocalDateTime.now();
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Collection other)) {
+            return false;
+        }
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
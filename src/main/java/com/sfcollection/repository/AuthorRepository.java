@@ -1,12 +1,58 @@
 package com.sfcollection.repository;
 
+import com.sfcollection.dto.AuthorSummaryDTO;
+import com.sfcollection.dto.OwnedSummary;
+import com.sfcollection.dto.SuggestionDTO;
 import com.sfcollection.model.Author;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface AuthorRepository extends JpaRepository<Author, Long> {
+public interface AuthorRepository extends JpaRepository<Author, Long>, AuthorRepositoryCustom {
+    // The lookups that end in an AuthorDTO read the lazy biography in the same select
+    @Override
+    @EntityGraph(Author.WITH_BIOGRAPHY)
+    Optional<Author> findById(Long id);
+    
+    @Override
+    @EntityGraph(Author.WITH_BIOGRAPHY)
+    Page<Author> findAll(Pageable pageable);
+    
+    @EntityGraph(Author.WITH_BIOGRAPHY)
     List<Author> findByNameContainingIgnoreCase(String name);
+    
+    List<Author> findByNameIn(Collection<String> names);
+    
+    @Query("SELECT a.id FROM Author a WHERE a.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Set<Long> ids);
+    
+    @EntityGraph(Author.WITH_BIOGRAPHY)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT a FROM Author a ORDER BY a.id")
+    Stream<Author> streamAllByOrderById();
+    
+    @Query("SELECT new com.sfcollection.dto.OwnedSummary(b.id, " +
+            "new com.sfcollection.dto.AuthorSummaryDTO(a.id, a.name, a.photoUrl)) " +
+            "FROM Author a JOIN a.books b WHERE b.id IN :bookIds")
+    List<OwnedSummary<AuthorSummaryDTO>> findSummariesByBookIds(@Param("bookIds") List<Long> bookIds);
+    
+    @Query("SELECT new com.sfcollection.dto.SuggestionDTO(a.id, a.name) FROM Author a")
+    List<SuggestionDTO> findAllSuggestions();
+    
+    @Query("SELECT new com.sfcollection.dto.SuggestionDTO(a.id, a.name) FROM Author a WHERE a.id = :id")
+    Optional<SuggestionDTO> findSuggestionById(Long id);
 }
\ No newline at end of file
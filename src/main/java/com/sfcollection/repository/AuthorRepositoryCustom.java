@@ -0,0 +1,14 @@
+package com.sfcollection.repository;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface AuthorRepositoryCustom {
+    boolean insertBookLink(Long authorId, Long bookId);
+    
+    boolean deleteBookLink(Long authorId, Long bookId);
+    
+    boolean replaceBookLinks(Long bookId, Set<Long> authorIds);
+    
+    void evictCachedAuthorsOfBooks(Collection<Long> bookIds);
+}
@@ -0,0 +1,72 @@
+package com.sfcollection.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Single-link changes go straight to book_author instead of initializing Author.books and Book.authors
+@RequiredArgsConstructor
+public class AuthorRepositoryCustomImpl implements AuthorRepositoryCustom {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public boolean insertBookLink(Long authorId, Long bookId) {
+        boolean inserted = jdbcTemplate.update(insertLinkSql(), authorId, bookId) > 0;
+        if (inserted) {
+            evictCachedAuthorsOfBooks(List.of(bookId));
+        }
+        return inserted;
+    }
+
+    @Override
+    public boolean deleteBookLink(Long authorId, Long bookId) {
+        boolean deleted = jdbcTemplate.update("DELETE FROM book_author WHERE author_id = ? AND book_id = ?", authorId, bookId) > 0;
+        if (deleted) {
+            evictCachedAuthorsOfBooks(List.of(bookId));
+        }
+        return deleted;
+    }
+
+    // Diffs against the stored rows and writes only the changes, so no author's books are ever loaded
+    @Override
+    public boolean replaceBookLinks(Long bookId, Set<Long> authorIds) {
+        Set<Long> current = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT author_id FROM book_author WHERE book_id = ?", Long.class, bookId));
+        List<Object[]> removed = current.stream()
+                .filter(authorId -> !authorIds.contains(authorId))
+                .map(authorId -> new Object[]{authorId, bookId})
+                .toList();
+        List<Object[]> added = authorIds.stream()
+                .filter(authorId -> !current.contains(authorId))
+                .map(authorId -> new Object[]{authorId, bookId})
+                .toList();
+        if (removed.isEmpty() && added.isEmpty()) {
+            return false;
+        }
+
+        if (!removed.isEmpty()) {
+            jdbcTemplate.batchUpdate("DELETE FROM book_author WHERE author_id = ? AND book_id = ?", removed);
+        }
+        if (!added.isEmpty()) {
+            jdbcTemplate.batchUpdate(insertLinkSql(), added);
+        }
+        evictCachedAuthorsOfBooks(List.of(bookId));
+        return true;
+    }
+
+    @Override
+    public void evictCachedAuthorsOfBooks(Collection<Long> bookIds) {
+        BookLinkCache.evict(entityManagerFactory, BookLinkCache.AUTHORS, bookIds);
+    }
+
+    private String insertLinkSql() {
+        return LinkRows.insertIfAbsent(entityManagerFactory, "book_author", "author_id", "book_id");
+    }
+}
@@ -0,0 +1,13 @@
+package com.sfcollection.repository;
+
+import com.sfcollection.model.Book;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface BookBatchRepository {
+    List<Long> insertBooks(List<Book> books);
+    
+    void insertAuthorLinks(Map<Long, Set<Long>> authorIdsByBookId);
+}
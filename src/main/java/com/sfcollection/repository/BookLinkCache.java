@@ -0,0 +1,42 @@
+package com.sfcollection.repository;
+
+import com.sfcollection.model.Book;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+// Book.authors and Book.collections sit in the second-level cache, but the join tables behind them are also written
+// with plain SQL that Hibernate never sees, so those writes drop the cached sets themselves
+final class BookLinkCache {
+
+    static final String AUTHORS = Book.class.getName() + ".authors";
+    static final String COLLECTIONS = Book.class.getName() + ".collections";
+
+    private BookLinkCache() {
+    }
+
+    static void evict(EntityManagerFactory entityManagerFactory, String role, Collection<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return;
+        }
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        List<Long> keys = List.copyOf(bookIds);
+        Runnable eviction = () -> keys.forEach(bookId -> cache.evictCollectionData(role, bookId));
+        eviction.run();
+
+        // Once more when the transaction ends: a concurrent reader may have cached the old links in between
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
@@ -1,39 +1,111 @@
 package com.sfcollection.repository;
 
+import com.sfcollection.dto.BookSummaryDTO;
+import com.sfcollection.dto.OwnedSummary;
 import com.sfcollection.model.Book;
 import com.sfcollection.model.SubGenre;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book>, BookRepositoryCustom,
+        BookBatchRepository {
+    // Everything that maps to a full BookDTO reads the lazy description in the same select
+    @Override
+    @EntityGraph(Book.WITH_DESCRIPTION)
+    Optional<Book> findById(Long id);
+    
+    @Override
+    @EntityGraph(Book.WITH_DESCRIPTION)
+    Page<Book> findAll(Pageable pageable);
+    
+    @Override
+    @EntityGraph(Book.WITH_DESCRIPTION)
+    Page<Book> findAll(Specification<Book> spec, Pageable pageable);
+    
+    @Override
+    @EntityGraph(Book.WITH_DESCRIPTION)
+    List<Book> findAllById(Iterable<Long> ids);
+    
+    @EntityGraph(Book.WITH_DESCRIPTION)
     Page<Book> findByTitleContainingIgnoreCase(String title, Pageable pageable);
     
+    @EntityGraph(Book.WITH_DESCRIPTION)
+    Slice<Book> findAllBy(Pageable pageable);
+    
+    @EntityGraph(Book.WITH_DESCRIPTION)
     Page<Book> findByAuthorsId(Long authorId, Pageable pageable);
     
+    @EntityGraph(Book.WITH_DESCRIPTION)
+    Slice<Book> findSliceByAuthorsId(Long authorId, Pageable pageable);
+    
+    long countByAuthorsId(Long authorId);
+    
+    @EntityGraph(Book.WITH_DESCRIPTION)
     Page<Book> findByCollectionsId(Long collectionId, Pageable pageable);
     
-    Page<Book> findBySubGenre(SubGenre subGenre, Pageable pageable);
+    @EntityGraph(Book.WITH_DESCRIPTION)
+    Slice<Book> findSliceByCollectionsId(Long collectionId, Pageable pageable);
     
-    @Query("SELECT b FROM Book b WHERE " +
-           "(:title IS NULL OR LOWER(b.title) LIKE LOWER(CONCAT('%', :title, '%'))) AND " +
-           "(:isbn IS NULL OR b.isbn = :isbn) AND " +
-           "(:subGenre IS NULL OR b.subGenre = :subGenre) AND " +
-           "(:publishedAfter IS NULL OR b.publishedDate >= :publishedAfter) AND " +
-           "(:publishedBefore IS NULL OR b.publishedDate <= :publishedBefore)")
-    Page<Book> searchBooks(
-            @Param("title") String title,
-            @Param("isbn") String isbn,
-            @Param("subGenre") SubGenre subGenre,
-            @Param("publishedAfter") LocalDate publishedAfter,
-            @Param("publishedBefore") LocalDate publishedBefore,
-            Pageable pageable);
+    long countByCollectionsId(Long collectionId);
+    
+    @EntityGraph(Book.WITH_DESCRIPTION)
+    Page<Book> findBySubGenre(SubGenre subGenre, Pageable pageable);
     
     boolean existsByIsbn(String isbn);
+    
+    long countByIsbnIsNotNull();
+    
+    @Query("SELECT b.isbn FROM Book b WHERE b.isbn > :after ORDER BY b.isbn")
+    List<String> findIsbnsAfter(@Param("after") String after, Pageable pageable);
+    
+    @Query("SELECT b.id FROM Book b WHERE b.id > :afterId ORDER BY b.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT b.id FROM Book b JOIN b.authors a WHERE a.id = :authorId")
+    List<Long> findIdsByAuthorId(@Param("authorId") Long authorId);
+    
+    @Query("SELECT b.id FROM Book b JOIN b.collections c WHERE c.id = :collectionId")
+    List<Long> findIdsByCollectionId(@Param("collectionId") Long collectionId);
+    
+    @Query("SELECT b.id FROM Book b WHERE b.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Set<Long> ids);
+    
+    @Query("SELECT b.isbn FROM Book b WHERE b.isbn IN :isbns")
+    List<String> findExistingIsbns(@Param("isbns") Set<String> isbns);
+    
+    @Query("SELECT new com.sfcollection.dto.OwnedSummary(a.id, " +
+            "new com.sfcollection.dto.BookSummaryDTO(b.id, b.title, b.isbn, b.subGenre, b.coverImage)) " +
+            "FROM Author a JOIN a.books b WHERE a.id IN :authorIds")
+    List<OwnedSummary<BookSummaryDTO>> findSummariesByAuthorIds(@Param("authorIds") List<Long> authorIds);
+    
+    @Query("SELECT new com.sfcollection.dto.OwnedSummary(c.id, " +
+            "new com.sfcollection.dto.BookSummaryDTO(b.id, b.title, b.isbn, b.subGenre, b.coverImage)) " +
+            "FROM Collection c JOIN c.books b WHERE c.id IN :collectionIds")
+    List<OwnedSummary<BookSummaryDTO>> findSummariesByCollectionIds(@Param("collectionIds") List<Long> collectionIds);
+    
+    @EntityGraph(Book.WITH_DESCRIPTION)
+    @Query("SELECT DISTINCT b FROM Book b LEFT JOIN FETCH b.authors WHERE b.id IN :ids")
+    List<Book> findWithAuthorsByIdIn(@Param("ids") List<Long> ids);
+    
+    @EntityGraph(Book.WITH_DESCRIPTION)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT b FROM Book b ORDER BY b.id")
+    Stream<Book> streamAllByOrderById();
 }
\ No newline at end of file
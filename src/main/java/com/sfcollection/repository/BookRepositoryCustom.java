@@ -0,0 +1,16 @@
+package com.sfcollection.repository;
+
+import com.sfcollection.dto.BookCursor;
+import com.sfcollection.dto.BookFacetsDTO;
+import com.sfcollection.model.Book;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface BookRepositoryCustom {
+    Slice<Book> findAfter(Specification<Book> spec, BookCursor cursor, int size);
+    
+    Slice<Book> findSlice(Specification<Book> spec, Pageable pageable);
+    
+    BookFacetsDTO countFacets(Specification<Book> spec);
+}
@@ -0,0 +1,176 @@
+package com.sfcollection.repository;
+
+import com.sfcollection.dto.BookCursor;
+import com.sfcollection.dto.BookFacetsDTO;
+import com.sfcollection.model.Book;
+import com.sfcollection.model.ReadStatus;
+import com.sfcollection.model.SubGenre;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class BookRepositoryCustomImpl implements BookRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<Book> findAfter(Specification<Book> spec, BookCursor cursor, int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Book> query = cb.createQuery(Book.class);
+        Root<Book> book = query.from(Book.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filter = spec.toPredicate(book, query, cb);
+        if (filter != null) {
+            predicates.add(filter);
+        }
+        if (!cursor.isFirst()) {
+            predicates.add(keysetPredicate(cursor, book, cb));
+        }
+
+        Path<Comparable<Object>> sortKey = book.get(cursor.getProperty());
+        Path<Long> id = book.get("id");
+        boolean ascending = cursor.getDirection().isAscending();
+        List<Order> orders = List.of(
+                ascending ? cb.asc(sortKey) : cb.desc(sortKey),
+                ascending ? cb.asc(id) : cb.desc(id));
+
+        query.select(book).where(predicates.toArray(new Predicate[0])).orderBy(orders);
+
+        // Fetch one extra row to learn whether another slice follows, instead of running a COUNT
+        List<Book> rows = entityManager.createQuery(query)
+                .setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, entityManager.getEntityGraph(Book.WITH_DESCRIPTION))
+                .setMaxResults(size + 1)
+                .getResultList();
+
+        boolean hasNext = rows.size() > size;
+        List<Book> content = hasNext ? rows.subList(0, size) : rows;
+        Sort sort = Sort.by(cursor.getDirection(), cursor.getProperty(), "id");
+        return new SliceImpl<>(new ArrayList<>(content), PageRequest.of(0, size, sort), hasNext);
+    }
+
+    @Override
+    public Slice<Book> findSlice(Specification<Book> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Book> query = cb.createQuery(Book.class);
+        Root<Book> book = query.from(Book.class);
+
+        Predicate filter = spec.toPredicate(book, query, cb);
+        if (filter != null) {
+            query.where(filter);
+        }
+        query.select(book).orderBy(QueryUtils.toOrders(pageable.getSort(), book, cb));
+
+        List<Book> rows = entityManager.createQuery(query)
+                .setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, entityManager.getEntityGraph(Book.WITH_DESCRIPTION))
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<Book> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+        return new SliceImpl<>(new ArrayList<>(content), pageable, hasNext);
+    }
+
+    // One GROUP BY over every combination present, folded into the four facets here, instead of a query per facet
+    // or per value. The number of combinations is bounded by the number of matching books and is far smaller in
+    // practice
+    @Override
+    public BookFacetsDTO countFacets(Specification<Book> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Book> book = query.from(Book.class);
+
+        Path<SubGenre> subGenre = book.get("subGenre");
+        Path<ReadStatus> readStatus = book.get("readStatus");
+        Path<String> language = book.get("language");
+        Expression<Integer> year = cb.function("year", Integer.class, book.get("publishedDate"));
+        Expression<Long> count = cb.count(book);
+
+        Predicate filter = spec.toPredicate(book, query, cb);
+        if (filter != null) {
+            query.where(filter);
+        }
+        query.multiselect(subGenre, readStatus, language, year, count)
+                .groupBy(subGenre, readStatus, language, year);
+
+        Map<String, Long> subGenres = new HashMap<>();
+        Map<String, Long> readStatuses = new HashMap<>();
+        Map<String, Long> languages = new HashMap<>();
+        Map<String, Long> decades = new HashMap<>();
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            long books = row.get(count);
+            addCount(subGenres, row.get(subGenre) == null ? null : row.get(subGenre).name(), books);
+            addCount(readStatuses, row.get(readStatus) == null ? null : row.get(readStatus).name(), books);
+            addCount(languages, row.get(language), books);
+            addCount(decades, row.get(year) == null ? null : (row.get(year) / 10 * 10) + "s", books);
+        }
+
+        return BookFacetsDTO.builder()
+                .subGenre(byCount(subGenres))
+                .readStatus(byCount(readStatuses))
+                .language(byCount(languages))
+                .decade(byCount(decades))
+                .build();
+    }
+
+    private static void addCount(Map<String, Long> facet, String value, long count) {
+        if (value != null) {
+            facet.merge(value, count, Long::sum);
+        }
+    }
+
+    private static Map<String, Long> byCount(Map<String, Long> facet) {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        facet.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    // (key > :key) OR (key = :key AND id > :id), with the comparisons flipped for descending order
+    private Predicate keysetPredicate(BookCursor cursor, Root<Book> book, CriteriaBuilder cb) {
+        Path<Long> id = book.get("id");
+
+        if (BookCursor.SORT_TITLE.equals(cursor.getProperty())) {
+            Expression<String> title = book.get("title");
+            return cursor.getDirection().isAscending()
+                    ? cb.or(cb.greaterThan(title, cursor.getTitle()),
+                            cb.and(cb.equal(title, cursor.getTitle()), cb.greaterThan(id, cursor.getId())))
+                    : cb.or(cb.lessThan(title, cursor.getTitle()),
+                            cb.and(cb.equal(title, cursor.getTitle()), cb.lessThan(id, cursor.getId())));
+        }
+
+        Expression<LocalDateTime> dateAdded = book.get("dateAdded");
+        return cursor.getDirection().isAscending()
+                ? cb.or(cb.greaterThan(dateAdded, cursor.getDateAdded()),
+                        cb.and(cb.equal(dateAdded, cursor.getDateAdded()), cb.greaterThan(id, cursor.getId())))
+                : cb.or(cb.lessThan(dateAdded, cursor.getDateAdded()),
+                        cb.and(cb.equal(dateAdded, cursor.getDateAdded()), cb.lessThan(id, cursor.getId())));
+    }
+}
@@ -0,0 +1,78 @@
+package com.sfcollection.repository;
+
+import com.sfcollection.dto.BookSearchDTO;
+import com.sfcollection.model.Book;
+import com.sfcollection.model.SubGenre;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public final class BookSpecifications {
+
+    private BookSpecifications() {
+    }
+
+    // Only the criteria that are set become predicates, so every filter combination renders its own SQL
+    public static Specification<Book> matching(BookSearchDTO criteria) {
+        List<Specification<Book>> specs = new ArrayList<>();
+        if (criteria == null) {
+            return Specification.allOf(specs);
+        }
+
+        if (StringUtils.hasText(criteria.getTitle())) {
+            specs.add(titleContains(criteria.getTitle()));
+        }
+        if (StringUtils.hasText(criteria.getIsbn())) {
+            specs.add(hasIsbn(criteria.getIsbn()));
+        }
+        if (criteria.getSubGenre() != null) {
+            specs.add(hasSubGenre(criteria.getSubGenre()));
+        }
+        if (criteria.getPublishedAfter() != null) {
+            specs.add(publishedOnOrAfter(criteria.getPublishedAfter()));
+        }
+        if (criteria.getPublishedBefore() != null) {
+            specs.add(publishedOnOrBefore(criteria.getPublishedBefore()));
+        }
+        if (criteria.getAuthorId() != null) {
+            specs.add(hasAuthor(criteria.getAuthorId()));
+        }
+        if (criteria.getCollectionId() != null) {
+            specs.add(inCollection(criteria.getCollectionId()));
+        }
+
+        return Specification.allOf(specs);
+    }
+
+    public static Specification<Book> titleContains(String title) {
+        return (book, query, cb) -> cb.like(cb.lower(book.get("title")), "%" + title.trim().toLowerCase(Locale.ROOT) + "%");
+    }
+
+    public static Specification<Book> hasIsbn(String isbn) {
+        return (book, query, cb) -> cb.equal(book.get("isbn"), isbn);
+    }
+
+    public static Specification<Book> hasSubGenre(SubGenre subGenre) {
+        return (book, query, cb) -> cb.equal(book.get("subGenre"), subGenre);
+    }
+
+    public static Specification<Book> publishedOnOrAfter(LocalDate date) {
+        return (book, query, cb) -> cb.greaterThanOrEqualTo(book.get("publishedDate"), date);
+    }
+
+    public static Specification<Book> publishedOnOrBefore(LocalDate date) {
+        return (book, query, cb) -> cb.lessThanOrEqualTo(book.get("publishedDate"), date);
+    }
+
+    public static Specification<Book> hasAuthor(Long authorId) {
+        return (book, query, cb) -> cb.equal(book.join("authors").get("id"), authorId);
+    }
+
+    public static Specification<Book> inCollection(Long collectionId) {
+        return (book, query, cb) -> cb.equal(book.join("collections").get("id"), collectionId);
+    }
+}
@@ -1,12 +1,51 @@
 package com.sfcollection.repository;
 
+import com.sfcollection.dto.CollectionSummaryDTO;
+import com.sfcollection.dto.OwnedSummary;
+import com.sfcollection.dto.SuggestionDTO;
 import com.sfcollection.model.Collection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface CollectionRepository extends JpaRepository<Collection, Long> {
+public interface CollectionRepository extends JpaRepository<Collection, Long>, CollectionRepositoryCustom {
     List<Collection> findByNameContainingIgnoreCase(String name);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c FROM Collection c ORDER BY c.id")
+    Stream<Collection> streamAllByOrderById();
+    
+    @Query("SELECT new com.sfcollection.dto.OwnedSummary(b.id, " +
+            "new com.sfcollection.dto.CollectionSummaryDTO(c.id, c.name, c.description, c.bookCount, c.lastModified)) " +
+            "FROM Collection c JOIN c.books b WHERE b.id IN :bookIds")
+    List<OwnedSummary<CollectionSummaryDTO>> findSummariesByBookIds(@Param("bookIds") List<Long> bookIds);
+    
+    @Query("SELECT new com.sfcollection.dto.SuggestionDTO(c.id, c.name) FROM Collection c")
+    List<SuggestionDTO> findAllSuggestions();
+    
+    @Query("SELECT new com.sfcollection.dto.SuggestionDTO(c.id, c.name) FROM Collection c WHERE c.id = :id")
+    Optional<SuggestionDTO> findSuggestionById(Long id);
+    
+    // Naming the table keeps Hibernate from clearing every second-level cache region after a native update
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "collections"))
+    @Query(value = "UPDATE collections c SET book_count = (SELECT COUNT(*) FROM collection_book cb WHERE cb.collection_id = c.id) " +
+            "WHERE book_count <> (SELECT COUNT(*) FROM collection_book cb WHERE cb.collection_id = c.id)", nativeQuery = true)
+    int repairBookCounts();
+    
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "collections"))
+    @Query(value = "UPDATE collections c SET book_count = (SELECT COUNT(*) FROM collection_book cb WHERE cb.collection_id = c.id), " +
+            "last_modified = CURRENT_TIMESTAMP WHERE c.id = :id", nativeQuery = true)
+    int refreshBookCount(Long id);
 }
\ No newline at end of file
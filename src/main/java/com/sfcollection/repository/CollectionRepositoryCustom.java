@@ -0,0 +1,16 @@
+package com.sfcollection.repository;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface CollectionRepositoryCustom {
+    Set<Long> findLinkedBookIds(Long collectionId, Collection<Long> bookIds);
+    
+    void insertBookLinks(Long collectionId, Collection<Long> bookIds);
+    
+    boolean insertBookLink(Long collectionId, Long bookId);
+    
+    boolean deleteBookLink(Long collectionId, Long bookId);
+    
+    void evictCachedCollectionsOfBooks(Collection<Long> bookIds);
+}
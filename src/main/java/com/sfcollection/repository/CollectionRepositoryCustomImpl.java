@@ -0,0 +1,78 @@
+package com.sfcollection.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Writes collection_book directly so link changes never load Collection.books
+@RequiredArgsConstructor
+public class CollectionRepositoryCustomImpl implements CollectionRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public Set<Long> findLinkedBookIds(Long collectionId, Collection<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return new HashSet<>();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("collectionId", collectionId)
+                .addValue("bookIds", bookIds);
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                "SELECT book_id FROM collection_book WHERE collection_id = :collectionId AND book_id IN (:bookIds)",
+                params, Long.class));
+    }
+
+    @Override
+    public void insertBookLinks(Long collectionId, Collection<Long> bookIds) {
+        List<Object[]> rows = new ArrayList<>(bookIds.size());
+        for (Long bookId : bookIds) {
+            rows.add(new Object[]{collectionId, bookId});
+        }
+        jdbcTemplate.batchUpdate(insertLinkSql(), rows, BATCH_SIZE, (ps, row) -> {
+            for (int i = 0; i < row.length; i++) {
+                ps.setLong(i + 1, (Long) row[i]);
+            }
+        });
+        evictCachedCollectionsOfBooks(bookIds);
+    }
+
+    @Override
+    public boolean insertBookLink(Long collectionId, Long bookId) {
+        boolean inserted = jdbcTemplate.update(insertLinkSql(), collectionId, bookId) > 0;
+        if (inserted) {
+            evictCachedCollectionsOfBooks(List.of(bookId));
+        }
+        return inserted;
+    }
+
+    @Override
+    public boolean deleteBookLink(Long collectionId, Long bookId) {
+        boolean deleted = jdbcTemplate.update("DELETE FROM collection_book WHERE collection_id = ? AND book_id = ?", collectionId, bookId) > 0;
+        if (deleted) {
+            evictCachedCollectionsOfBooks(List.of(bookId));
+        }
+        return deleted;
+    }
+
+    @Override
+    public void evictCachedCollectionsOfBooks(Collection<Long> bookIds) {
+        BookLinkCache.evict(entityManagerFactory, BookLinkCache.COLLECTIONS, bookIds);
+    }
+
+    private String insertLinkSql() {
+        return LinkRows.insertIfAbsent(entityManagerFactory, "collection_book", "collection_id", "book_id");
+    }
+}
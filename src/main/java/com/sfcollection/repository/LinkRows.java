@@ -0,0 +1,25 @@
+package com.sfcollection.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+// Inserts into the join tables that skip a link that is already there. INSERT ... WHERE NOT EXISTS cannot promise
+// that: under READ COMMITTED two transactions can both find no row, and the second then fails on the primary key.
+// ON CONFLICT DO NOTHING waits for the first one and skips; H2, which only backs dev and the tests, gets a MERGE
+final class LinkRows {
+
+    private LinkRows() {
+    }
+
+    // Two parameters, in column order; the update count is 0 when the link already existed
+    static String insertIfAbsent(EntityManagerFactory entityManagerFactory, String table, String first, String second) {
+        if (entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect()
+                instanceof PostgreSQLDialect) {
+            return "INSERT INTO " + table + " (" + first + ", " + second + ") VALUES (?, ?) ON CONFLICT DO NOTHING";
+        }
+        return "MERGE INTO " + table + " t USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT))) s (" + first + ", " + second + ") " +
+               "ON t." + first + " = s." + first + " AND t." + second + " = s." + second + " " +
+               "WHEN NOT MATCHED THEN INSERT (" + first + ", " + second + ") VALUES (s." + first + ", s." + second + ")";
+    }
+}
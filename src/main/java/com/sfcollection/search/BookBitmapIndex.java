@@ -0,0 +1,186 @@
+package com.sfcollection.search;
+
+import com.sfcollection.model.ReadStatus;
+import com.sfcollection.model.SubGenre;
+import org.roaringbitmap.longlong.PeekableLongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// One compressed bitmap of book ids per subGenre, readStatus, language and publication year. Filters over those
+// columns become bitmap AND/OR/ANDNOT operations with an exact count for free
+@Component
+public class BookBitmapIndex implements BookIndex {
+
+    private final Roaring64Bitmap all = new Roaring64Bitmap();
+    private final Map<SubGenre, Roaring64Bitmap> subGenres = new EnumMap<>(SubGenre.class);
+    private final Map<ReadStatus, Roaring64Bitmap> readStatuses = new EnumMap<>(ReadStatus.class);
+    private final Map<String, Roaring64Bitmap> languages = new HashMap<>();
+    private final NavigableMap<Integer, Roaring64Bitmap> years = new TreeMap<>();
+
+    // What each book was indexed under, so an update can clear exactly those bits
+    private final Map<Long, Keys> indexedKeys = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void index(BookDocument document) {
+        Keys keys = new Keys(
+                document.subGenre(),
+                document.readStatus(),
+                document.language() == null ? null : languageKey(document.language()),
+                document.publishedDate() == null ? null : document.publishedDate().getYear());
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(document.id());
+            long id = document.id();
+            all.addLong(id);
+            setBit(subGenres, keys.subGenre(), id);
+            setBit(readStatuses, keys.readStatus(), id);
+            setBit(languages, keys.language(), id);
+            setBit(years, keys.year(), id);
+            indexedKeys.put(document.id(), keys);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            all.clear();
+            subGenres.clear();
+            readStatuses.clear();
+            languages.clear();
+            years.clear();
+            indexedKeys.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Matching ids in id order, which follows insertion order for generated ids
+    public SearchHits search(BookFilter filter, long offset, int limit, boolean descending) {
+        Roaring64Bitmap matches;
+        lock.readLock().lock();
+        try {
+            matches = evaluate(filter);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        long total = matches.getLongCardinality();
+        if (offset >= total) {
+            return new SearchHits(total, List.of());
+        }
+
+        // select() jumps straight to the first id of the page instead of iterating over the skipped ones
+        long first = matches.select(descending ? total - 1 - offset : offset);
+        PeekableLongIterator iterator = descending
+                ? matches.getReverseLongIteratorFrom(first)
+                : matches.getLongIteratorFrom(first);
+
+        List<Long> ids = new ArrayList<>(limit);
+        while (iterator.hasNext() && ids.size() < limit) {
+            ids.add(iterator.next());
+        }
+        return new SearchHits(total, ids);
+    }
+
+    // Always returns a new bitmap; the index's own bitmaps are never modified by a query
+    private Roaring64Bitmap evaluate(BookFilter filter) {
+        if (filter instanceof BookFilter.SubGenreIs term) {
+            return copy(subGenres.get(term.subGenre()));
+        }
+        if (filter instanceof BookFilter.ReadStatusIs term) {
+            return copy(readStatuses.get(term.readStatus()));
+        }
+        if (filter instanceof BookFilter.LanguageIs term) {
+            return copy(languages.get(languageKey(term.language())));
+        }
+        if (filter instanceof BookFilter.PublishedBetween range) {
+            Roaring64Bitmap result = new Roaring64Bitmap();
+            years.subMap(range.fromYear(), true, range.toYear(), true).values().forEach(result::or);
+            return result;
+        }
+        if (filter instanceof BookFilter.And and) {
+            Roaring64Bitmap result = evaluate(and.operands().get(0));
+            for (int i = 1; i < and.operands().size() && !result.isEmpty(); i++) {
+                result.and(evaluate(and.operands().get(i)));
+            }
+            return result;
+        }
+        if (filter instanceof BookFilter.Or or) {
+            Roaring64Bitmap result = new Roaring64Bitmap();
+            or.operands().forEach(operand -> result.or(evaluate(operand)));
+            return result;
+        }
+        BookFilter.Not not = (BookFilter.Not) filter;
+        Roaring64Bitmap result = all.clone();
+        result.andNot(evaluate(not.operand()));
+        return result;
+    }
+
+    private void removeDocument(Long bookId) {
+        Keys keys = indexedKeys.remove(bookId);
+        if (keys == null) {
+            return;
+        }
+        long id = bookId;
+        all.removeLong(id);
+        clearBit(subGenres, keys.subGenre(), id);
+        clearBit(readStatuses, keys.readStatus(), id);
+        clearBit(languages, keys.language(), id);
+        clearBit(years, keys.year(), id);
+    }
+
+    private static <K> void setBit(Map<K, Roaring64Bitmap> bitmaps, K key, long id) {
+        if (key != null) {
+            bitmaps.computeIfAbsent(key, k -> new Roaring64Bitmap()).addLong(id);
+        }
+    }
+
+    private static <K> void clearBit(Map<K, Roaring64Bitmap> bitmaps, K key, long id) {
+        if (key == null) {
+            return;
+        }
+        Roaring64Bitmap bitmap = bitmaps.get(key);
+        bitmap.removeLong(id);
+        if (bitmap.isEmpty()) {
+            bitmaps.remove(key);
+        }
+    }
+
+    private static Roaring64Bitmap copy(Roaring64Bitmap bitmap) {
+        return bitmap == null ? new Roaring64Bitmap() : bitmap.clone();
+    }
+
+    private static String languageKey(String language) {
+        return language.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Keys(SubGenre subGenre, ReadStatus readStatus, String language, Integer year) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.sfcollection.search;
+
+import com.sfcollection.model.Author;
+import com.sfcollection.model.Book;
+import com.sfcollection.model.ReadStatus;
+import com.sfcollection.model.SubGenre;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Detached snapshot of the book fields the in-memory indexes care about
+public record BookDocument(
+        Long id,
+        String title,
+        String description,
+        String publisher,
+        String language,
+        SubGenre subGenre,
+        ReadStatus readStatus,
+        LocalDate publishedDate,
+        List<String> authorNames) {
+
+    public static BookDocument from(Book book) {
+        List<String> authorNames = book.getAuthors().stream()
+                .map(Author::getName)
+                .toList();
+
+        return new BookDocument(
+                book.getId(),
+                book.getTitle(),
+                book.getDescription(),
+                book.getPublisher(),
+                book.getLanguage(),
+                book.getSubGenre(),
+                book.getReadStatus(),
+                book.getPublishedDate(),
+                authorNames);
+    }
+}
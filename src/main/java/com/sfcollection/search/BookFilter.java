@@ -0,0 +1,32 @@
+package com.sfcollection.search;
+
+import com.sfcollection.model.ReadStatus;
+import com.sfcollection.model.SubGenre;
+
+import java.util.List;
+
+// Boolean filter over the low-cardinality book columns, evaluated by BookBitmapIndex
+public sealed interface BookFilter {
+
+    record SubGenreIs(SubGenre subGenre) implements BookFilter {
+    }
+
+    record ReadStatusIs(ReadStatus readStatus) implements BookFilter {
+    }
+
+    record LanguageIs(String language) implements BookFilter {
+    }
+
+    // Inclusive on both ends
+    record PublishedBetween(int fromYear, int toYear) implements BookFilter {
+    }
+
+    record And(List<BookFilter> operands) implements BookFilter {
+    }
+
+    record Or(List<BookFilter> operands) implements BookFilter {
+    }
+
+    record Not(BookFilter operand) implements BookFilter {
+    }
+}
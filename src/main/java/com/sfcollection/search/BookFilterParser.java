@@ -0,0 +1,183 @@
+package com.sfcollection.search;
+
+import com.sfcollection.model.ReadStatus;
+import com.sfcollection.model.SubGenre;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Parses expressions such as
+//   subGenre:CYBERPUNK AND (readStatus:TO_READ OR readStatus:READING) AND NOT language:English AND decade:1980s
+// Fields: subGenre, readStatus, language, year (1984 or 1980..1989) and decade (1980s). NOT binds tightest,
+// then AND, then OR. Values containing spaces can be quoted: language:"Brazilian Portuguese"
+public final class BookFilterParser {
+
+    private static final int MAX_DEPTH = 32;
+    private static final Pattern YEAR_RANGE = Pattern.compile("(\\d{1,4})(?:\\.\\.(\\d{1,4}))?");
+    private static final Pattern DECADE = Pattern.compile("(\\d{1,3}0)s");
+
+    private final List<String> tokens;
+    private int position;
+    private int depth;
+
+    private BookFilterParser(List<String> tokens) {
+        this.tokens = tokens;
+    }
+
+    public static BookFilter parse(String expression) {
+        List<String> tokens = tokenize(expression == null ? "" : expression);
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("Filter expression must not be empty");
+        }
+
+        BookFilterParser parser = new BookFilterParser(tokens);
+        BookFilter filter = parser.parseOr();
+        if (parser.position < tokens.size()) {
+            throw new IllegalArgumentException("Unexpected '" + tokens.get(parser.position) + "' in filter expression");
+        }
+        return filter;
+    }
+
+    private BookFilter parseOr() {
+        List<BookFilter> operands = new ArrayList<>(List.of(parseAnd()));
+        while (accept("OR")) {
+            operands.add(parseAnd());
+        }
+        return operands.size() == 1 ? operands.get(0) : new BookFilter.Or(operands);
+    }
+
+    private BookFilter parseAnd() {
+        List<BookFilter> operands = new ArrayList<>(List.of(parseUnary()));
+        while (accept("AND")) {
+            operands.add(parseUnary());
+        }
+        return operands.size() == 1 ? operands.get(0) : new BookFilter.And(operands);
+    }
+
+    private BookFilter parseUnary() {
+        if (++depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Filter expression is nested too deeply");
+        }
+        try {
+            if (accept("NOT")) {
+                return new BookFilter.Not(parseUnary());
+            }
+            if (accept("(")) {
+                BookFilter inner = parseOr();
+                if (!accept(")")) {
+                    throw new IllegalArgumentException("Missing ')' in filter expression");
+                }
+                return inner;
+            }
+            return parseTerm(next());
+        } finally {
+            depth--;
+        }
+    }
+
+    private BookFilter parseTerm(String token) {
+        int colon = token.indexOf(':');
+        if (colon <= 0 || colon == token.length() - 1) {
+            throw new IllegalArgumentException("Expected field:value in filter expression but found '" + token + "'");
+        }
+        String field = token.substring(0, colon).toLowerCase(Locale.ROOT);
+        String value = unquote(token.substring(colon + 1));
+
+        switch (field) {
+            case "subgenre":
+                return new BookFilter.SubGenreIs(enumValue(SubGenre.class, value));
+            case "readstatus":
+                return new BookFilter.ReadStatusIs(enumValue(ReadStatus.class, value));
+            case "language":
+                return new BookFilter.LanguageIs(value);
+            case "year":
+                Matcher years = YEAR_RANGE.matcher(value);
+                if (!years.matches()) {
+                    throw new IllegalArgumentException("Invalid year '" + value + "', expected 1984 or 1980..1989");
+                }
+                int from = Integer.parseInt(years.group(1));
+                int to = years.group(2) == null ? from : Integer.parseInt(years.group(2));
+                if (to < from) {
+                    throw new IllegalArgumentException("Invalid year range '" + value + "'");
+                }
+                return new BookFilter.PublishedBetween(from, to);
+            case "decade":
+                Matcher decade = DECADE.matcher(value);
+                if (!decade.matches()) {
+                    throw new IllegalArgumentException("Invalid decade '" + value + "', expected e.g. 1980s");
+                }
+                int start = Integer.parseInt(decade.group(1));
+                return new BookFilter.PublishedBetween(start, start + 9);
+            default:
+                throw new IllegalArgumentException("Unknown filter field '" + token.substring(0, colon)
+                        + "', expected one of subGenre|readStatus|language|year|decade");
+        }
+    }
+
+    private boolean accept(String expected) {
+        if (position < tokens.size() && tokens.get(position).equalsIgnoreCase(expected)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private String next() {
+        if (position >= tokens.size()) {
+            throw new IllegalArgumentException("Filter expression ends unexpectedly");
+        }
+        return tokens.get(position++);
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String value) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid " + type.getSimpleName() + " '" + value + "'");
+        }
+    }
+
+    private static String unquote(String value) {
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+    // Splits on whitespace and parentheses, keeping quoted sections inside one token
+    private static List<String> tokenize(String expression) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (char c : expression.toCharArray()) {
+            if (c == '"') {
+                quoted = !quoted;
+                current.append(c);
+            } else if (quoted) {
+                current.append(c);
+            } else if (Character.isWhitespace(c) || c == '(' || c == ')') {
+                if (!current.isEmpty()) {
+                    tokens.add(current.toString());
+                    current.setLength(0);
+                }
+                if (c == '(' || c == ')') {
+                    tokens.add(String.valueOf(c));
+                }
+            } else {
+                current.append(c);
+            }
+        }
+
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quote in filter expression");
+        }
+        if (!current.isEmpty()) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+}
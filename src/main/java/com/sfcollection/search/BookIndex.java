@@ -0,0 +1,7 @@
+package com.sfcollection.search;
+
+public interface BookIndex {
+    void index(BookDocument document);
+    void remove(Long bookId);
+    void clear();
+}
@@ -0,0 +1,85 @@
+package com.sfcollection.search;
+
+import com.sfcollection.event.BookChangedEvent;
+import com.sfcollection.repository.BookRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Component
+@RequiredArgsConstructor
+public class BookIndexMaintainer {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookIndexMaintainer.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    private final BookRepository bookRepository;
+    private final List<BookIndex> indexes;
+    private final PlatformTransactionManager transactionManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        indexes.forEach(BookIndex::clear);
+
+        long indexed = 0;
+        Long lastId = 0L;
+        while (true) {
+            List<Long> ids = bookRepository.findIdsAfter(lastId, PageRequest.of(0, BATCH_SIZE));
+            if (ids.isEmpty()) {
+                break;
+            }
+            loadDocuments(ids).forEach(this::indexDocument);
+            indexed += ids.size();
+            lastId = ids.get(ids.size() - 1);
+        }
+
+        logger.info("Indexed {} books into {} in-memory indexes in {} ms",
+                indexed, indexes.size(), System.currentTimeMillis() - start);
+    }
+
+    // Runs after commit so a rolled-back write never reaches the indexes
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.deleted()) {
+            event.bookIds().forEach(id -> indexes.forEach(index -> index.remove(id)));
+            return;
+        }
+
+        Set<Long> missing = new HashSet<>(event.bookIds());
+        for (BookDocument document : loadDocuments(new ArrayList<>(event.bookIds()))) {
+            indexDocument(document);
+            missing.remove(document.id());
+        }
+
+        // Ids that no longer resolve were deleted in the meantime
+        missing.forEach(id -> indexes.forEach(index -> index.remove(id)));
+    }
+
+    private void indexDocument(BookDocument document) {
+        indexes.forEach(index -> index.index(document));
+    }
+
+    private List<BookDocument> loadDocuments(List<Long> ids) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template.execute(status -> bookRepository.findWithAuthorsByIdIn(ids).stream()
+                .map(BookDocument::from)
+                .toList());
+    }
+}
@@ -0,0 +1,166 @@
+package com.sfcollection.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+public class BookSearchIndex implements BookIndex {
+
+    // Standard BM25 parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Field boosts are applied as term-frequency multipliers, so a title hit outweighs a description hit
+    private static final int TITLE_WEIGHT = 3;
+    private static final int AUTHOR_WEIGHT = 2;
+    private static final int PUBLISHER_WEIGHT = 1;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Map<String, Integer>> termFrequencies = new HashMap<>();
+    private final Map<Long, Integer> documentLengths = new HashMap<>();
+    private long totalLength;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void index(BookDocument document) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        addTokens(frequencies, document.title(), TITLE_WEIGHT);
+        document.authorNames().forEach(name -> addTokens(frequencies, name, AUTHOR_WEIGHT));
+        addTokens(frequencies, document.publisher(), PUBLISHER_WEIGHT);
+        addTokens(frequencies, document.description(), DESCRIPTION_WEIGHT);
+
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(document.id());
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, key -> new HashMap<>()).put(document.id(), frequency));
+            termFrequencies.put(document.id(), frequencies);
+            documentLengths.put(document.id(), length);
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termFrequencies.clear();
+            documentLengths.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentLengths.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Terms are OR-ed and ranked by BM25; the last term also matches as a prefix to support search-as-you-type
+    public SearchHits search(String query, long offset, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(TextAnalyzer.tokenize(query)));
+        if (terms.isEmpty()) {
+            return SearchHits.empty();
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            int documentCount = documentLengths.size();
+            if (documentCount == 0) {
+                return SearchHits.empty();
+            }
+            double averageLength = (double) totalLength / documentCount;
+
+            for (int i = 0; i < terms.size(); i++) {
+                boolean last = i == terms.size() - 1;
+                Map<Long, Double> termScores = new HashMap<>();
+                for (String term : expand(terms.get(i), last)) {
+                    Map<Long, Integer> termPostings = postings.get(term);
+                    double idf = idf(documentCount, termPostings.size());
+                    termPostings.forEach((bookId, frequency) -> {
+                        double score = idf * bm25(frequency, documentLengths.get(bookId), averageLength);
+                        termScores.merge(bookId, score, Math::max);
+                    });
+                }
+                termScores.forEach((bookId, score) -> scores.merge(bookId, score, Double::sum));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return SearchHits.ranked(scores, offset, limit);
+    }
+
+    private List<String> expand(String term, boolean prefix) {
+        if (!prefix) {
+            return postings.containsKey(term) ? List.of(term) : List.of();
+        }
+        return postings.subMap(term, true, term + Character.MAX_VALUE, true).keySet().stream()
+                .limit(MAX_PREFIX_EXPANSIONS)
+                .toList();
+    }
+
+    private static double idf(int documentCount, int documentFrequency) {
+        return Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static double bm25(int frequency, int length, double averageLength) {
+        return frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+    }
+
+    private void removeDocument(Long bookId) {
+        Map<String, Integer> frequencies = termFrequencies.remove(bookId);
+        if (frequencies == null) {
+            return;
+        }
+        for (String term : frequencies.keySet()) {
+            Map<Long, Integer> termPostings = postings.get(term);
+            termPostings.remove(bookId);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= documentLengths.remove(bookId);
+    }
+
+    private static void addTokens(Map<String, Integer> frequencies, String text, int weight) {
+        for (String token : TextAnalyzer.tokenize(text)) {
+            frequencies.merge(token, weight, Integer::sum);
+        }
+    }
+}
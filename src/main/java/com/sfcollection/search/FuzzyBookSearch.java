@@ -0,0 +1,7 @@
+package com.sfcollection.search;
+
+public interface FuzzyBookSearch {
+
+    // Books whose title or an author name is at least threshold-similar to the query, best match first
+    SearchHits search(String query, double threshold, long offset, int limit);
+}
@@ -0,0 +1,81 @@
+package com.sfcollection.search;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Served by the GIN trigram indexes from db/migration/V5__unaccent_trigram_indexes.sql. The query is tokenized,
+// which lowercases it and strips accents, so both columns are compared through lower(search_unaccent(...))
+@Component
+@Profile("prod")
+public class PostgresTrigramSearch implements FuzzyBookSearch {
+
+    // % and <% are the index-assisted forms of similarity() and word_similarity(); both read their cut-off from
+    // the pg_trgm settings, which are set per transaction below
+    private static final String SEARCH_SQL = """
+            WITH matches AS (
+                SELECT b.id AS book_id,
+                       GREATEST(similarity(lower(search_unaccent(b.title)), :q),
+                                word_similarity(:q, lower(search_unaccent(b.title)))) AS score
+                FROM books b
+                WHERE lower(search_unaccent(b.title)) % :q OR :q <% lower(search_unaccent(b.title))
+                UNION ALL
+                SELECT ba.book_id,
+                       GREATEST(similarity(lower(search_unaccent(a.name)), :q),
+                                word_similarity(:q, lower(search_unaccent(a.name))))
+                FROM authors a
+                JOIN book_author ba ON ba.author_id = a.id
+                WHERE lower(search_unaccent(a.name)) % :q OR :q <% lower(search_unaccent(a.name))
+            )
+            SELECT book_id, MAX(score) AS score, COUNT(*) OVER () AS total
+            FROM matches
+            GROUP BY book_id
+            ORDER BY score DESC, book_id
+            LIMIT :limit OFFSET :offset
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public SearchHits search(String query, double threshold, long offset, int limit) {
+        String normalized = String.join(" ", TextAnalyzer.tokenize(query));
+        if (normalized.isEmpty()) {
+            return SearchHits.empty();
+        }
+
+        entityManager.createNativeQuery("SELECT set_config('pg_trgm.similarity_threshold', :threshold, true), "
+                        + "set_config('pg_trgm.word_similarity_threshold', :threshold, true)")
+                .setParameter("threshold", Double.toString(threshold))
+                .getSingleResult();
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(SEARCH_SQL)
+                .setParameter("q", normalized)
+                .setParameter("limit", limit)
+                .setParameter("offset", offset)
+                .getResultList();
+
+        if (rows.isEmpty()) {
+            return new SearchHits(offset > 0 ? countMatches(normalized) : 0, List.of());
+        }
+        List<Long> ids = rows.stream()
+                .map(row -> ((Number) row[0]).longValue())
+                .toList();
+        return new SearchHits(((Number) rows.get(0)[2]).longValue(), ids);
+    }
+
+    // Only needed when the requested page lies past the last match
+    private long countMatches(String query) {
+        Number count = (Number) entityManager.createNativeQuery("SELECT COUNT(*) FROM ("
+                        + SEARCH_SQL.replace("LIMIT :limit OFFSET :offset", "") + ") hits")
+                .setParameter("q", query)
+                .getSingleResult();
+        return count.longValue();
+    }
+}
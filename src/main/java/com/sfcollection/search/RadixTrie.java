@@ -0,0 +1,264 @@
+package com.sfcollection.search;
+
+import com.sfcollection.dto.SuggestionDTO;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Compressed (radix) trie from normalized labels to ids. Every word of a label starts a key, so "her" completes
+// "Frank Herbert" as well as "Herbert West"
+public class RadixTrie {
+
+    // Bounds the keys per label; a prefix starting later in a very long title is not worth the memory
+    private static final int MAX_KEYS_PER_LABEL = 8;
+
+    private final Node root = new Node("");
+    private final Map<Long, String> labels = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(Long id, String label) {
+        List<String> keys = keys(label);
+
+        lock.writeLock().lock();
+        try {
+            removeEntry(id);
+            if (keys.isEmpty()) {
+                return;
+            }
+            labels.put(id, label);
+            for (int i = 0; i < keys.size(); i++) {
+                insert(keys.get(i), id, i == 0);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root.children.clear();
+            labels.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return labels.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Labels starting with the prefix come before labels with a later word matching it, each group in key order
+    public List<SuggestionDTO> complete(String prefix, int limit) {
+        String key = String.join(" ", TextAnalyzer.tokenize(prefix));
+        if (key.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = find(key);
+            if (node == null) {
+                return List.of();
+            }
+
+            Set<Long> ids = new LinkedHashSet<>();
+            if (!collect(node, ids, limit, true)) {
+                collect(node, ids, limit, false);
+            }
+
+            List<SuggestionDTO> suggestions = new ArrayList<>(ids.size());
+            ids.forEach(id -> suggestions.add(new SuggestionDTO(id, labels.get(id))));
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The node whose subtree holds every key starting with prefix, possibly ending part-way along its edge
+    private Node find(String prefix) {
+        Node node = root;
+        int position = 0;
+        while (position < prefix.length()) {
+            Node child = node.children.get(prefix.charAt(position));
+            if (child == null) {
+                return null;
+            }
+            int common = commonPrefix(child.edge, prefix, position);
+            if (position + common == prefix.length()) {
+                return child;
+            }
+            if (common < child.edge.length()) {
+                return null;
+            }
+            position += common;
+            node = child;
+        }
+        return node;
+    }
+
+    private static boolean collect(Node node, Set<Long> ids, int limit, boolean labelStart) {
+        Set<Long> matches = labelStart ? node.labelIds : node.wordIds;
+        if (matches != null) {
+            for (Long id : matches) {
+                ids.add(id);
+                if (ids.size() >= limit) {
+                    return true;
+                }
+            }
+        }
+        for (Node child : node.children.values()) {
+            if (collect(child, ids, limit, labelStart)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void insert(String key, Long id, boolean labelStart) {
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            char first = key.charAt(position);
+            Node child = node.children.get(first);
+            if (child == null) {
+                child = new Node(key.substring(position));
+                node.children.put(first, child);
+                node = child;
+                break;
+            }
+
+            int common = commonPrefix(child.edge, key, position);
+            if (common < child.edge.length()) {
+                // Split the edge so the shared part becomes its own node
+                Node split = new Node(child.edge.substring(0, common));
+                child.edge = child.edge.substring(common);
+                split.children.put(child.edge.charAt(0), child);
+                node.children.put(first, split);
+                child = split;
+            }
+            position += common;
+            node = child;
+        }
+        node.addId(id, labelStart);
+    }
+
+    private void removeEntry(Long id) {
+        String label = labels.remove(id);
+        if (label == null) {
+            return;
+        }
+        List<String> keys = keys(label);
+        for (int i = 0; i < keys.size(); i++) {
+            delete(root, keys.get(i), 0, id, i == 0);
+        }
+    }
+
+    private static void delete(Node parent, String key, int position, Long id, boolean labelStart) {
+        char first = key.charAt(position);
+        Node child = parent.children.get(first);
+        if (child == null || !key.startsWith(child.edge, position)) {
+            return;
+        }
+
+        int next = position + child.edge.length();
+        if (next == key.length()) {
+            child.removeId(id, labelStart);
+        } else {
+            delete(child, key, next, id, labelStart);
+        }
+
+        // Keep the trie compressed: drop empty leaves and merge pass-through nodes into their only child
+        if (child.isEmpty() && child.children.isEmpty()) {
+            parent.children.remove(first);
+        } else if (child.isEmpty() && child.children.size() == 1) {
+            Node only = child.children.firstEntry().getValue();
+            only.edge = child.edge + only.edge;
+            parent.children.put(first, only);
+        }
+    }
+
+    private static List<String> keys(String label) {
+        List<String> words = TextAnalyzer.tokenize(label);
+        List<String> keys = new ArrayList<>();
+        for (int start = 0; start < words.size() && start < MAX_KEYS_PER_LABEL; start++) {
+            keys.add(String.join(" ", words.subList(start, words.size())));
+        }
+        return keys;
+    }
+
+    private static int commonPrefix(String edge, String key, int offset) {
+        int max = Math.min(edge.length(), key.length() - offset);
+        int common = 0;
+        while (common < max && edge.charAt(common) == key.charAt(offset + common)) {
+            common++;
+        }
+        return common;
+    }
+
+    private static final class Node {
+        private String edge;
+        private final TreeMap<Character, Node> children = new TreeMap<>();
+        // Ids whose whole label ends here, and ids where only a later word of the label does. Most nodes are
+        // pass-through, so the sets are only allocated when a key ends here
+        private Set<Long> labelIds;
+        private Set<Long> wordIds;
+
+        private Node(String edge) {
+            this.edge = edge;
+        }
+
+        private boolean isEmpty() {
+            return labelIds == null && wordIds == null;
+        }
+
+        private void addId(Long id, boolean labelStart) {
+            if (labelStart) {
+                labelIds = labelIds == null ? new TreeSet<>() : labelIds;
+                labelIds.add(id);
+            } else {
+                wordIds = wordIds == null ? new TreeSet<>() : wordIds;
+                wordIds.add(id);
+            }
+        }
+
+        private void removeId(Long id, boolean labelStart) {
+            if (labelStart) {
+                labelIds = without(labelIds, id);
+            } else {
+                wordIds = without(wordIds, id);
+            }
+        }
+
+        private static Set<Long> without(Set<Long> ids, Long id) {
+            if (ids == null) {
+                return null;
+            }
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.sfcollection.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+public record SearchHits(long total, List<Long> ids) {
+
+    public static SearchHits empty() {
+        return new SearchHits(0, List.of());
+    }
+
+    // Highest score first, ties broken by id so pages are stable
+    public static SearchHits ranked(Map<Long, Double> scores, long offset, int limit) {
+        Comparator<Map.Entry<Long, Double>> ranking = Map.Entry.<Long, Double>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+
+        // Keep only the top offset + limit hits instead of sorting every match
+        long wanted = offset + limit;
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(ranking.reversed());
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > wanted) {
+                top.poll();
+            }
+        }
+
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(top);
+        ranked.sort(ranking);
+        List<Long> ids = ranked.stream()
+                .skip(offset)
+                .map(Map.Entry::getKey)
+                .toList();
+        return new SearchHits(scores.size(), ids);
+    }
+}
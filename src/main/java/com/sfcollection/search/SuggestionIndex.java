@@ -0,0 +1,58 @@
+package com.sfcollection.search;
+
+import com.sfcollection.dto.SuggestionDTO;
+import com.sfcollection.dto.SuggestionType;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Book titles arrive through BookIndex like the other book indexes; authors and collections are fed by
+// SuggestionIndexMaintainer
+@Component
+public class SuggestionIndex implements BookIndex {
+
+    private final Map<SuggestionType, RadixTrie> tries = new EnumMap<>(SuggestionType.class);
+
+    public SuggestionIndex() {
+        for (SuggestionType type : SuggestionType.values()) {
+            tries.put(type, new RadixTrie());
+        }
+    }
+
+    @Override
+    public void index(BookDocument document) {
+        put(SuggestionType.BOOK, document.id(), document.title());
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        remove(SuggestionType.BOOK, bookId);
+    }
+
+    @Override
+    public void clear() {
+        clear(SuggestionType.BOOK);
+    }
+
+    public void put(SuggestionType type, Long id, String label) {
+        tries.get(type).put(id, label);
+    }
+
+    public void remove(SuggestionType type, Long id) {
+        tries.get(type).remove(id);
+    }
+
+    public void clear(SuggestionType type) {
+        tries.get(type).clear();
+    }
+
+    public int size(SuggestionType type) {
+        return tries.get(type).size();
+    }
+
+    public List<SuggestionDTO> suggest(SuggestionType type, String prefix, int limit) {
+        return tries.get(type).complete(prefix, limit);
+    }
+}
@@ -0,0 +1,76 @@
+package com.sfcollection.search;
+
+import com.sfcollection.dto.SuggestionDTO;
+import com.sfcollection.dto.SuggestionType;
+import com.sfcollection.event.AuthorChangedEvent;
+import com.sfcollection.event.CollectionChangedEvent;
+import com.sfcollection.repository.AuthorRepository;
+import com.sfcollection.repository.CollectionRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+@Component
+@RequiredArgsConstructor
+public class SuggestionIndexMaintainer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuggestionIndexMaintainer.class);
+
+    private final AuthorRepository authorRepository;
+    private final CollectionRepository collectionRepository;
+    private final SuggestionIndex suggestionIndex;
+    private final PlatformTransactionManager transactionManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        load(SuggestionType.AUTHOR, read(authorRepository::findAllSuggestions));
+        load(SuggestionType.COLLECTION, read(collectionRepository::findAllSuggestions));
+
+        logger.info("Loaded {} author and {} collection suggestions in {} ms",
+                suggestionIndex.size(SuggestionType.AUTHOR), suggestionIndex.size(SuggestionType.COLLECTION),
+                System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        refresh(SuggestionType.AUTHOR, event.authorId(), event.deleted(),
+                () -> authorRepository.findSuggestionById(event.authorId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCollectionChanged(CollectionChangedEvent event) {
+        refresh(SuggestionType.COLLECTION, event.collectionId(), event.deleted(),
+                () -> collectionRepository.findSuggestionById(event.collectionId()));
+    }
+
+    private void load(SuggestionType type, List<SuggestionDTO> suggestions) {
+        suggestionIndex.clear(type);
+        suggestions.forEach(suggestion -> suggestionIndex.put(type, suggestion.getId(), suggestion.getLabel()));
+    }
+
+    private void refresh(SuggestionType type, Long id, boolean deleted, Supplier<Optional<SuggestionDTO>> loader) {
+        Optional<SuggestionDTO> suggestion = deleted ? Optional.empty() : read(loader);
+        suggestion.ifPresentOrElse(
+                found -> suggestionIndex.put(type, found.getId(), found.getLabel()),
+                () -> suggestionIndex.remove(type, id));
+    }
+
+    private <T> T read(Supplier<T> query) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template.execute(status -> query.get());
+    }
+}
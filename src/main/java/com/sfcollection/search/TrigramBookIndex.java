@@ -0,0 +1,187 @@
+package com.sfcollection.search;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory stand-in for the pg_trgm indexes used in production
+@Component
+@Profile("!prod")
+public class TrigramBookIndex implements BookIndex, FuzzyBookSearch {
+
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void index(BookDocument document) {
+        List<List<Set<String>>> fields = new ArrayList<>();
+        addField(fields, document.title());
+        document.authorNames().forEach(name -> addField(fields, name));
+
+        Set<String> trigrams = new HashSet<>();
+        fields.forEach(field -> field.forEach(trigrams::addAll));
+
+        lock.writeLock().lock();
+        try {
+            removeEntry(document.id());
+            trigrams.forEach(trigram -> postings.computeIfAbsent(trigram, key -> new HashSet<>()).add(document.id()));
+            entries.put(document.id(), new Entry(trigrams, fields));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            entries.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public SearchHits search(String query, double threshold, long offset, int limit) {
+        List<String> words = TextAnalyzer.tokenize(query);
+        Set<String> queryTrigrams = Trigrams.ofWords(words);
+        if (queryTrigrams.isEmpty()) {
+            return SearchHits.empty();
+        }
+
+        // similarity <= shared / |query|, so books sharing fewer trigrams can never reach the threshold
+        int minShared = Math.max(1, (int) Math.ceil(threshold * queryTrigrams.size()));
+
+        Map<Long, Double> scores = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            // Any book with minShared trigrams in common must contain one of the rarest |query| - minShared + 1,
+            // so only those posting lists are read and the common ones ("  s", " th") are skipped
+            List<Set<Long>> rarest = queryTrigrams.stream()
+                    .map(trigram -> postings.getOrDefault(trigram, Set.of()))
+                    .sorted(Comparator.comparingInt(Set::size))
+                    .limit(queryTrigrams.size() - minShared + 1L)
+                    .toList();
+
+            Set<Long> candidates = new HashSet<>();
+            rarest.forEach(candidates::addAll);
+
+            for (Long bookId : candidates) {
+                Entry entry = entries.get(bookId);
+                if (entry.shared(queryTrigrams) < minShared) {
+                    continue;
+                }
+                double score = entry.score(queryTrigrams, words.size(), threshold);
+                if (score > 0) {
+                    scores.put(bookId, score);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return SearchHits.ranked(scores, offset, limit);
+    }
+
+    private void removeEntry(Long bookId) {
+        Entry entry = entries.remove(bookId);
+        if (entry == null) {
+            return;
+        }
+        for (String trigram : entry.trigrams()) {
+            Set<Long> bookIds = postings.get(trigram);
+            bookIds.remove(bookId);
+            if (bookIds.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    private static void addField(List<List<Set<String>>> fields, String text) {
+        List<Set<String>> words = TextAnalyzer.tokenize(text).stream()
+                .map(word -> Trigrams.ofWords(List.of(word)))
+                .toList();
+        if (!words.isEmpty()) {
+            fields.add(words);
+        }
+    }
+
+    // Each field keeps per-word trigram sets so a query can also be matched against runs of words inside it
+    private record Entry(Set<String> trigrams, List<List<Set<String>>> fields) {
+
+        int shared(Set<String> queryTrigrams) {
+            int shared = 0;
+            for (String trigram : queryTrigrams) {
+                if (trigrams.contains(trigram)) {
+                    shared++;
+                }
+            }
+            return shared;
+        }
+
+        // Matches on the best window, but ranks a whole-field match above the same words inside a longer field
+        double score(Set<String> queryTrigrams, int queryWords, double threshold) {
+            double best = 0;
+            for (List<Set<String>> words : fields) {
+                double whole = Trigrams.similarity(queryTrigrams, union(words, 0, words.size()));
+                double window = whole;
+
+                // "asimov" should match "Isaac Asimov" about as well as it matches "Asimov"
+                if (words.size() > queryWords) {
+                    for (int start = 0; start + queryWords <= words.size(); start++) {
+                        window = Math.max(window,
+                                Trigrams.similarity(queryTrigrams, union(words, start, start + queryWords)));
+                    }
+                }
+
+                if (window >= threshold) {
+                    best = Math.max(best, (whole + window) / 2);
+                }
+            }
+            return best;
+        }
+
+        private static Set<String> union(List<Set<String>> words, int from, int to) {
+            if (to - from == 1) {
+                return words.get(from);
+            }
+            Set<String> trigrams = new HashSet<>();
+            for (int i = from; i < to; i++) {
+                trigrams.addAll(words.get(i));
+            }
+            return trigrams;
+        }
+    }
+}
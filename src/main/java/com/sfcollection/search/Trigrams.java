@@ -0,0 +1,51 @@
+package com.sfcollection.search;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Trigram extraction compatible with Postgres pg_trgm, so a threshold tuned on one backend carries over to the other
+public final class Trigrams {
+
+    private Trigrams() {
+    }
+
+    public static Set<String> of(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (String word : TextAnalyzer.tokenize(text)) {
+            addWord(trigrams, word);
+        }
+        return trigrams;
+    }
+
+    public static Set<String> ofWords(List<String> words) {
+        Set<String> trigrams = new HashSet<>();
+        words.forEach(word -> addWord(trigrams, word));
+        return trigrams;
+    }
+
+    // Shared trigrams over the union of both sets, as pg_trgm's similarity()
+    public static double similarity(Set<String> left, Set<String> right) {
+        if (left.isEmpty() || right.isEmpty()) {
+            return 0;
+        }
+        Set<String> smaller = left.size() <= right.size() ? left : right;
+        Set<String> larger = smaller == left ? right : left;
+
+        int shared = 0;
+        for (String trigram : smaller) {
+            if (larger.contains(trigram)) {
+                shared++;
+            }
+        }
+        return (double) shared / (left.size() + right.size() - shared);
+    }
+
+    private static void addWord(Set<String> trigrams, String word) {
+        // Each word is padded with two leading blanks and one trailing blank
+        String padded = "  " + word + " ";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+    }
+}
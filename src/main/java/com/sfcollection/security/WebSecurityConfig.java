@@ -1,5 +1,6 @@
 package com.sfcollection.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -69,6 +70,8 @@ public class WebSecurityConfig {
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> 
                 auth
+                    // Streamed responses finish on an async dispatch of a request that was already authorized
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                     // OpenAPI endpoints
                     .requestMatchers(
                         new org.springframework.security.web.util.matcher.AntPathRequestMatcher("/swagger-ui/**"),
@@ -91,7 +94,8 @@ public class WebSecurityConfig {
                     .requestMatchers(
                         new org.springframework.security.web.util.matcher.AntPathRequestMatcher("/api/v1/books/**", HttpMethod.GET.name()),
                         new org.springframework.security.web.util.matcher.AntPathRequestMatcher("/api/v1/authors/**", HttpMethod.GET.name()),
-                        new org.springframework.security.web.util.matcher.AntPathRequestMatcher("/api/v1/collections/**", HttpMethod.GET.name())
+                        new org.springframework.security.web.util.matcher.AntPathRequestMatcher("/api/v1/collections/**", HttpMethod.GET.name()),
+                        new org.springframework.security.web.util.matcher.AntPathRequestMatcher("/api/v1/suggest/**", HttpMethod.GET.name())
                     ).permitAll()
                     // All other requests need authentication
                     .anyRequest().authenticated()
@@ -2,13 +2,18 @@ package com.sfcollection.service;
 
 import com.sfcollection.dto.AuthorDTO;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface AuthorService {
     AuthorDTO createAuthor(AuthorDTO authorDTO);
-    AuthorDTO getAuthorById(Long id);
-    List<AuthorDTO> getAllAuthors();
-    List<AuthorDTO> searchAuthorsByName(String name);
+    AuthorDTO getAuthorById(Long id, boolean includeBooks);
+    Page<AuthorDTO> getAllAuthors(Pageable pageable, boolean includeBooks);
+    void streamAuthors(Consumer<AuthorDTO> consumer);
+    List<AuthorDTO> searchAuthorsByName(String name, boolean includeBooks);
     AuthorDTO updateAuthor(Long id, AuthorDTO authorDTO);
     void deleteAuthor(Long id);
     AuthorDTO addBookToAuthor(Long authorId, Long bookId);
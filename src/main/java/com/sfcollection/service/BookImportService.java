@@ -0,0 +1,10 @@
+package com.sfcollection.service;
+
+import com.sfcollection.dto.BookImportResultDTO;
+
+import java.io.InputStream;
+
+public interface BookImportService {
+    BookImportResultDTO importNdjson(InputStream input);
+    BookImportResultDTO importCsv(InputStream input);
+}
@@ -3,17 +3,32 @@ package com.sfcollection.service;
 import com.sfcollection.dto.*;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.function.Consumer;
 
 public interface BookService {
     BookDTO createBook(BookCreateDTO bookCreateDTO);
     BookDTO getBookById(Long id);
     Page<BookDTO> getAllBooks(Pageable pageable);
+    Slice<BookDTO> getAllBooks(Pageable pageable, CountMode countMode);
     Page<BookDTO> searchBooks(BookSearchDTO searchDTO, Pageable pageable);
+    Slice<BookDTO> searchBooks(BookSearchDTO searchDTO, Pageable pageable, CountMode countMode);
+    BookFacetsDTO getSearchFacets(BookSearchDTO searchDTO);
+    Page<BookDTO> fullTextSearch(String query, Pageable pageable);
+    Page<BookDTO> fuzzySearch(String query, double threshold, Pageable pageable);
+    Page<BookDTO> filterBooks(String filter, Pageable pageable);
+    Slice<BookDTO> getBooksAfter(BookSearchDTO searchDTO, BookCursor cursor, int size);
     BookDTO updateBook(Long id, BookUpdateDTO bookUpdateDTO);
     BookDTO patchBook(Long id, BookPatchDTO bookPatchDTO);
     void deleteBook(Long id);
     BookDTO addAuthorToBook(Long bookId, Long authorId);
     BookDTO removeAuthorFromBook(Long bookId, Long authorId);
+    void linkAuthor(Long bookId, Long authorId);
+    void unlinkAuthor(Long bookId, Long authorId);
     Page<BookDTO> getBooksByAuthor(Long authorId, Pageable pageable);
+    Slice<BookDTO> getBooksByAuthor(Long authorId, Pageable pageable, CountMode countMode);
     Page<BookDTO> getBooksByCollection(Long collectionId, Pageable pageable);
+    Slice<BookDTO> getBooksByCollection(Long collectionId, Pageable pageable, CountMode countMode);
+    void exportBooks(Consumer<BookExportDTO> consumer);
 }
\ No newline at end of file
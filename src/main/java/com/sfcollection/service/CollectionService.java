@@ -1,17 +1,26 @@
 package com.sfcollection.service;
 
+import com.sfcollection.dto.BulkLinkResultDTO;
 import com.sfcollection.dto.CollectionDTO;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CollectionService {
     CollectionDTO createCollection(CollectionDTO collectionDTO);
-    CollectionDTO getCollectionById(Long id);
-    List<CollectionDTO> getAllCollections();
-    List<CollectionDTO> searchCollectionsByName(String name);
+    CollectionDTO getCollectionById(Long id, boolean includeBooks);
+    Page<CollectionDTO> getAllCollections(Pageable pageable, boolean includeBooks);
+    void streamCollections(Consumer<CollectionDTO> consumer);
+    List<CollectionDTO> searchCollectionsByName(String name, boolean includeBooks);
     CollectionDTO updateCollection(Long id, CollectionDTO collectionDTO);
     void deleteCollection(Long id);
     CollectionDTO addBookToCollection(Long collectionId, Long bookId);
-    CollectionDTO addBooksToCollection(Long collectionId, List<Long> bookIds);
+    BulkLinkResultDTO addBooksToCollection(Long collectionId, List<Long> bookIds);
     CollectionDTO removeBookFromCollection(Long collectionId, Long bookId);
+    void linkBook(Long collectionId, Long bookId);
+    void unlinkBook(Long collectionId, Long bookId);
+    int repairBookCounts();
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.sfcollection.service;
+
+import com.sfcollection.dto.SuggestionDTO;
+import com.sfcollection.dto.SuggestionType;
+
+import java.util.List;
+
+public interface SuggestionService {
+    List<SuggestionDTO> suggest(String prefix, SuggestionType type, int limit);
+}
@@ -1,18 +1,27 @@
 package com.sfcollection.service.impl;
 
 import com.sfcollection.dto.AuthorDTO;
+import com.sfcollection.event.AuthorChangedEvent;
+import com.sfcollection.event.BookChangedEvent;
 import com.sfcollection.exception.ResourceNotFoundException;
 import com.sfcollection.mapper.AuthorMapper;
+import com.sfcollection.mapper.SummaryLoader;
 import com.sfcollection.model.Author;
 import com.sfcollection.model.Book;
 import com.sfcollection.repository.AuthorRepository;
 import com.sfcollection.repository.BookRepository;
 import com.sfcollection.service.AuthorService;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -21,34 +30,56 @@ public class AuthorServiceImpl implements AuthorService {
     private final AuthorRepository authorRepository;
     private final BookRepository bookRepository;
     private final AuthorMapper authorMapper;
+    private final SummaryLoader summaryLoader;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
     
     @Override
     @Transactional
     public AuthorDTO createAuthor(AuthorDTO authorDTO) {
         Author author = authorMapper.toEntity(authorDTO);
         Author savedAuthor = authorRepository.save(author);
+        eventPublisher.publishEvent(AuthorChangedEvent.saved(savedAuthor.getId()));
         return authorMapper.toDto(savedAuthor);
     }
     
     @Override
     @Transactional(readOnly = true)
-    public AuthorDTO getAuthorById(Long id) {
-        Author author = findAuthorById(id);
-        return authorMapper.toDto(author);
+    public AuthorDTO getAuthorById(Long id, boolean includeBooks) {
+        AuthorDTO author = authorMapper.toDtoWithoutBooks(findAuthorById(id));
+        if (includeBooks) {
+            summaryLoader.loadBooksOfAuthors(List.of(author));
+        }
+        return author;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Page<AuthorDTO> getAllAuthors(Pageable pageable, boolean includeBooks) {
+        Page<AuthorDTO> authors = authorRepository.findAll(pageable).map(authorMapper::toDtoWithoutBooks);
+        if (includeBooks) {
+            summaryLoader.loadBooksOfAuthors(authors.getContent());
+        }
+        return authors;
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<AuthorDTO> getAllAuthors() {
-        List<Author> authors = authorRepository.findAll();
-        return authorMapper.toDtoList(authors);
+    public void streamAuthors(Consumer<AuthorDTO> consumer) {
+        try (Stream<Author> authors = authorRepository.streamAllByOrderById()) {
+            // Detach as we go so the persistence context stays flat however many rows there are
+            authors.forEach(author -> {
+                consumer.accept(authorMapper.toDtoWithoutBooks(author));
+                entityManager.detach(author);
+            });
+        }
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<AuthorDTO> searchAuthorsByName(String name) {
+    public List<AuthorDTO> searchAuthorsByName(String name, boolean includeBooks) {
         List<Author> authors = authorRepository.findByNameContainingIgnoreCase(name);
-        return authorMapper.toDtoList(authors);
+        return toDtoList(authors, includeBooks);
     }
     
     @Override
@@ -62,6 +93,8 @@ public class AuthorServiceImpl implements AuthorService {
         existingAuthor.setPhotoUrl(authorDTO.getPhotoUrl());
         
         Author updatedAuthor = authorRepository.save(existingAuthor);
+        eventPublisher.publishEvent(AuthorChangedEvent.saved(id));
+        eventPublisher.publishEvent(BookChangedEvent.saved(bookRepository.findIdsByAuthorId(id)));
         return authorMapper.toDto(updatedAuthor);
     }
     
@@ -71,7 +104,12 @@ public class AuthorServiceImpl implements AuthorService {
         if (!authorRepository.existsById(id)) {
             throw new ResourceNotFoundException("Author not found with id: " + id);
         }
+        List<Long> bookIds = bookRepository.findIdsByAuthorId(id);
         authorRepository.deleteById(id);
+        // Only the owning side, Author.books, is cleared by the delete
+        authorRepository.evictCachedAuthorsOfBooks(bookIds);
+        eventPublisher.publishEvent(AuthorChangedEvent.deleted(id));
+        eventPublisher.publishEvent(BookChangedEvent.saved(bookIds));
     }
     
     @Override
@@ -84,6 +122,7 @@ public class AuthorServiceImpl implements AuthorService {
         book.getAuthors().add(author);
         
         Author updatedAuthor = authorRepository.save(author);
+        eventPublisher.publishEvent(BookChangedEvent.saved(bookId));
         return authorMapper.toDto(updatedAuthor);
     }
     
@@ -97,9 +136,18 @@ public class AuthorServiceImpl implements AuthorService {
         book.getAuthors().remove(author);
         
         Author updatedAuthor = authorRepository.save(author);
+        eventPublisher.publishEvent(BookChangedEvent.saved(bookId));
         return authorMapper.toDto(updatedAuthor);
     }
     
+    private List<AuthorDTO> toDtoList(List<Author> authors, boolean includeBooks) {
+        List<AuthorDTO> dtos = authorMapper.toDtoListWithoutBooks(authors);
+        if (includeBooks) {
+            summaryLoader.loadBooksOfAuthors(dtos);
+        }
+        return dtos;
+    }
+    
     private Author findAuthorById(Long id) {
         return authorRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Author not found with id: " + id));
@@ -0,0 +1,366 @@
+package com.sfcollection.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.sfcollection.cache.IsbnFilter;
+import com.sfcollection.dto.BookImportDTO;
+import com.sfcollection.dto.BookImportErrorDTO;
+import com.sfcollection.dto.BookImportResultDTO;
+import com.sfcollection.event.AuthorChangedEvent;
+import com.sfcollection.event.BookChangedEvent;
+import com.sfcollection.mapper.BookMapper;
+import com.sfcollection.model.Author;
+import com.sfcollection.model.Book;
+import com.sfcollection.repository.AuthorRepository;
+import com.sfcollection.repository.BookRepository;
+import com.sfcollection.service.BookImportService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class BookImportServiceImpl implements BookImportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BookImportServiceImpl.class);
+    
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    
+    private static final ObjectReader CSV_ROWS = new CsvMapper()
+            .readerFor(Map.class)
+            .with(CsvSchema.emptySchema().withHeader());
+    
+    // CSV holds these lists in a single cell, the same way the export writes them
+    private static final Set<String> CSV_LIST_COLUMNS = Set.of("authorIds", "authors");
+    
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final BookMapper bookMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IsbnFilter isbnFilter;
+    
+    @Override
+    public BookImportResultDTO importNdjson(InputStream input) {
+        ImportRun run = new ImportRun();
+        long row = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                row++;
+                if (!StringUtils.hasText(line)) {
+                    continue;
+                }
+                try {
+                    accept(run, new ImportRow(row, objectMapper.readValue(line, BookImportDTO.class)));
+                } catch (JsonProcessingException ex) {
+                    run.reject(row, null, "Invalid row: " + ex.getOriginalMessage());
+                }
+            }
+        } catch (IOException ex) {
+            run.reject(row + 1, null, "Could not read the rest of the input: " + ex.getMessage());
+        }
+        return finish(run);
+    }
+    
+    @Override
+    public BookImportResultDTO importCsv(InputStream input) {
+        ImportRun run = new ImportRun();
+        long row = 0;
+        try (MappingIterator<Map<String, String>> records = CSV_ROWS.readValues(input)) {
+            while (records.hasNextValue()) {
+                row++;
+                Map<String, String> values = records.nextValue();
+                try {
+                    accept(run, new ImportRow(row, fromCsv(values)));
+                } catch (IllegalArgumentException ex) {
+                    run.reject(row, values.get("isbn"), "Invalid row: " + ex.getMessage());
+                }
+            }
+        } catch (IOException | RuntimeJsonMappingException ex) {
+            run.reject(row + 1, null, "Could not read the rest of the input: " + ex.getMessage());
+        }
+        return finish(run);
+    }
+    
+    private BookImportDTO fromCsv(Map<String, String> values) {
+        Map<String, Object> fields = new HashMap<>();
+        values.forEach((column, value) -> {
+            if (StringUtils.hasText(value)) {
+                fields.put(column, CSV_LIST_COLUMNS.contains(column)
+                        ? Arrays.stream(value.split(";")).map(String::trim).toList()
+                        : value);
+            }
+        });
+        return objectMapper.convertValue(fields, BookImportDTO.class);
+    }
+    
+    private void accept(ImportRun run, ImportRow row) {
+        run.chunk.add(row);
+        if (run.chunk.size() == CHUNK_SIZE) {
+            importChunk(run);
+        }
+    }
+    
+    private BookImportResultDTO finish(ImportRun run) {
+        importChunk(run);
+        logger.info("Imported {} books, {} rows failed in {} ms",
+                run.imported, run.failed, System.currentTimeMillis() - run.start);
+        return BookImportResultDTO.builder()
+                .imported(run.imported)
+                .failed(run.failed)
+                .errors(run.errors.stream()
+                        .sorted(Comparator.comparingLong(BookImportErrorDTO::getRow))
+                        .toList())
+                .build();
+    }
+    
+    // Each step drops the rows it rejects, so only clean rows reach the insert
+    private void importChunk(ImportRun run) {
+        List<ImportRow> rows = withValidFields(run, run.chunk);
+        rows = withUniqueIsbns(run, rows);
+        insert(run, withResolvedAuthors(run, rows));
+        run.chunk.clear();
+    }
+    
+    private List<ImportRow> withValidFields(ImportRun run, List<ImportRow> rows) {
+        List<ImportRow> valid = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            BookImportDTO book = row.book();
+            book.setIsbn(StringUtils.hasText(book.getIsbn()) ? book.getIsbn().trim() : null);
+            Set<ConstraintViolation<BookImportDTO>> violations = validator.validate(book);
+            if (violations.isEmpty()) {
+                valid.add(row);
+            } else {
+                run.reject(row, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+            }
+        }
+        return valid;
+    }
+    
+    // One query per chunk for ISBNs that might already be stored, plus the ISBNs seen earlier in this import
+    private List<ImportRow> withUniqueIsbns(ImportRun run, List<ImportRow> rows) {
+        Set<String> isbns = rows.stream()
+                .map(row -> row.book().getIsbn())
+                .filter(StringUtils::hasText)
+                .filter(isbnFilter::mightExist)
+                .collect(Collectors.toSet());
+        Set<String> existing = isbns.isEmpty() ? Set.of() : new HashSet<>(bookRepository.findExistingIsbns(isbns));
+        
+        List<ImportRow> unique = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            String isbn = row.book().getIsbn();
+            if (isbn == null) {
+                unique.add(row);
+            } else if (existing.contains(isbn)) {
+                run.reject(row, "A book with ISBN " + isbn + " already exists");
+            } else if (!run.seenIsbns.add(isbn)) {
+                run.reject(row, "ISBN " + isbn + " appears more than once in the import");
+            } else {
+                unique.add(row);
+            }
+        }
+        return unique;
+    }
+    
+    private List<ResolvedRow> withResolvedAuthors(ImportRun run, List<ImportRow> rows) {
+        checkAuthorIds(run, rows);
+        resolveAuthorNames(run, rows);
+        
+        List<ResolvedRow> resolved = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            Set<Long> authorIds = new LinkedHashSet<>(idsOf(row));
+            Set<Long> missing = authorIds.stream()
+                    .filter(run.missingAuthorIds::contains)
+                    .collect(Collectors.toCollection(TreeSet::new));
+            if (!missing.isEmpty()) {
+                run.reject(row, "Authors not found with ids: " + missing);
+                continue;
+            }
+            String failedName = namesOf(row).stream()
+                    .filter(run.failedAuthorNames::containsKey)
+                    .findFirst()
+                    .orElse(null);
+            if (failedName != null) {
+                run.reject(row, "Could not create author: " + run.failedAuthorNames.get(failedName));
+                continue;
+            }
+            namesOf(row).forEach(name -> authorIds.add(run.authorIdsByName.get(name)));
+            resolved.add(new ResolvedRow(row, authorIds));
+        }
+        return resolved;
+    }
+    
+    // Ids are checked once per import; the answers are cached for later chunks
+    private void checkAuthorIds(ImportRun run, List<ImportRow> rows) {
+        Set<Long> unchecked = rows.stream()
+                .flatMap(row -> idsOf(row).stream())
+                .filter(id -> !run.knownAuthorIds.contains(id) && !run.missingAuthorIds.contains(id))
+                .collect(Collectors.toSet());
+        if (unchecked.isEmpty()) {
+            return;
+        }
+        List<Long> found = authorRepository.findExistingIds(unchecked);
+        run.knownAuthorIds.addAll(found);
+        found.forEach(unchecked::remove);
+        run.missingAuthorIds.addAll(unchecked);
+    }
+    
+    private void resolveAuthorNames(ImportRun run, List<ImportRow> rows) {
+        Set<String> unresolved = rows.stream()
+                .flatMap(row -> namesOf(row).stream())
+                .filter(name -> !run.authorIdsByName.containsKey(name) && !run.failedAuthorNames.containsKey(name))
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (unresolved.isEmpty()) {
+            return;
+        }
+        
+        // Names are not unique, so the oldest author with a name wins
+        for (Author author : authorRepository.findByNameIn(unresolved)) {
+            run.authorIdsByName.merge(author.getName(), author.getId(), Math::min);
+        }
+        unresolved.removeAll(run.authorIdsByName.keySet());
+        if (unresolved.isEmpty()) {
+            return;
+        }
+        
+        createAuthors(run, new ArrayList<>(unresolved));
+    }
+    
+    // Committed on their own so a failed book insert never leaves the cache pointing at rolled-back authors.
+    // A name the database refuses fails the rows that use it, not the import
+    private void createAuthors(ImportRun run, List<String> names) {
+        try {
+            List<Author> created = new TransactionTemplate(transactionManager).execute(status -> {
+                List<Author> saved = authorRepository.saveAll(names.stream()
+                        .map(name -> Author.builder().name(name).build())
+                        .toList());
+                saved.forEach(author -> eventPublisher.publishEvent(AuthorChangedEvent.saved(author.getId())));
+                return saved;
+            });
+            created.forEach(author -> run.authorIdsByName.put(author.getName(), author.getId()));
+        } catch (DataAccessException ex) {
+            if (names.size() == 1) {
+                run.failedAuthorNames.put(names.get(0), ex.getMostSpecificCause().getMessage());
+                return;
+            }
+            logger.warn("Creating {} authors failed, retrying one by one: {}",
+                    names.size(), ex.getMostSpecificCause().getMessage());
+            names.forEach(name -> createAuthors(run, List.of(name)));
+        }
+    }
+    
+    private void insert(ImportRun run, List<ResolvedRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> write(rows));
+            run.imported += rows.size();
+        } catch (DataAccessException ex) {
+            if (rows.size() == 1) {
+                run.reject(rows.get(0).row(), "Could not save book: " + ex.getMostSpecificCause().getMessage());
+                return;
+            }
+            // A single bad row fails the whole batch, so retry one by one to keep the good rows
+            logger.warn("Import batch of {} books failed, retrying row by row: {}",
+                    rows.size(), ex.getMostSpecificCause().getMessage());
+            rows.forEach(row -> insert(run, List.of(row)));
+        }
+    }
+    
+    private void write(List<ResolvedRow> rows) {
+        List<Book> books = rows.stream()
+                .map(row -> bookMapper.importDtoToEntity(row.row().book()))
+                .toList();
+        List<Long> ids = bookRepository.insertBooks(books);
+        books.stream()
+                .map(Book::getIsbn)
+                .filter(StringUtils::hasText)
+                .forEach(isbnFilter::add);
+        
+        Map<Long, Set<Long>> links = new LinkedHashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            links.put(ids.get(i), rows.get(i).authorIds());
+        }
+        bookRepository.insertAuthorLinks(links);
+        eventPublisher.publishEvent(BookChangedEvent.saved(ids));
+    }
+    
+    private static List<Long> idsOf(ImportRow row) {
+        return row.book().getAuthorIds() != null ? row.book().getAuthorIds() : List.of();
+    }
+    
+    private static List<String> namesOf(ImportRow row) {
+        return row.book().getAuthors() != null
+                ? row.book().getAuthors().stream().map(String::trim).toList()
+                : List.of();
+    }
+    
+    private record ImportRow(long row, BookImportDTO book) {
+    }
+    
+    private record ResolvedRow(ImportRow row, Set<Long> authorIds) {
+    }
+    
+    private static final class ImportRun {
+        private final long start = System.currentTimeMillis();
+        private final List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        private final Set<String> seenIsbns = new HashSet<>();
+        private final Set<Long> knownAuthorIds = new HashSet<>();
+        private final Set<Long> missingAuthorIds = new HashSet<>();
+        private final Map<String, Long> authorIdsByName = new HashMap<>();
+        private final Map<String, String> failedAuthorNames = new HashMap<>();
+        private final List<BookImportErrorDTO> errors = new ArrayList<>();
+        private int imported;
+        private int failed;
+        
+        private void reject(ImportRow row, String message) {
+            reject(row.row(), row.book().getIsbn(), message);
+        }
+        
+        private void reject(long row, String isbn, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(BookImportErrorDTO.builder().row(row).isbn(isbn).message(message).build());
+            }
+        }
+    }
+}
@@ -1,48 +1,103 @@
 package com.sfcollection.service.impl;
 
+import com.sfcollection.cache.BookDtoCache;
+import com.sfcollection.cache.CountCache;
+import com.sfcollection.cache.IsbnFilter;
+import com.sfcollection.cache.MissingBookCache;
+import com.sfcollection.cache.SearchResultCache;
 import com.sfcollection.dto.*;
+import com.sfcollection.event.BookChangedEvent;
 import com.sfcollection.exception.ResourceNotFoundException;
 import com.sfcollection.mapper.BookMapper;
 import com.sfcollection.model.Author;
 import com.sfcollection.model.Book;
 import com.sfcollection.repository.AuthorRepository;
 import com.sfcollection.repository.BookRepository;
+import com.sfcollection.repository.BookSpecifications;
+import com.sfcollection.search.BookBitmapIndex;
+import com.sfcollection.search.BookFilterParser;
+import com.sfcollection.search.BookSearchIndex;
+import com.sfcollection.search.FuzzyBookSearch;
+import com.sfcollection.search.SearchHits;
 import com.sfcollection.service.BookService;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class BookServiceImpl implements BookService {
     
+    private static final int EXPORT_CHUNK_SIZE = 500;
+    
     private final BookRepository bookRepository;
     private final AuthorRepository authorRepository;
     private final BookMapper bookMapper;
+    private final CountCache countCache;
+    private final BookDtoCache bookDtoCache;
+    private final SearchResultCache searchResultCache;
+    private final MissingBookCache missingBookCache;
+    private final IsbnFilter isbnFilter;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookBitmapIndex bookBitmapIndex;
+    private final FuzzyBookSearch fuzzyBookSearch;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
     
     @Override
     @Transactional
     public BookDTO createBook(BookCreateDTO bookCreateDTO) {
         // Validate unique ISBN if provided
-        if (StringUtils.hasText(bookCreateDTO.getIsbn()) && bookRepository.existsByIsbn(bookCreateDTO.getIsbn())) {
+        if (StringUtils.hasText(bookCreateDTO.getIsbn()) && isbnExists(bookCreateDTO.getIsbn())) {
             throw new IllegalArgumentException("A book with ISBN " + bookCreateDTO.getIsbn() + " already exists");
         }
         
         Book book = bookMapper.createDtoToEntity(bookCreateDTO);
         Book savedBook = bookRepository.save(book);
+        if (bookCreateDTO.getAuthorIds() != null && !bookCreateDTO.getAuthorIds().isEmpty()) {
+            // The links reference the book row, so it has to be written first
+            entityManager.flush();
+            authorRepository.replaceBookLinks(savedBook.getId(), bookCreateDTO.getAuthorIds());
+        }
+        addIsbn(savedBook);
+        eventPublisher.publishEvent(BookChangedEvent.saved(savedBook.getId()));
         return bookMapper.toDto(savedBook);
     }
     
+    // No transaction around the cache, so a hit never takes a connection
     @Override
-    @Transactional(readOnly = true)
     public BookDTO getBookById(Long id) {
-        Book book = findBookById(id);
-        return bookMapper.toDto(book);
+        if (missingBookCache.isKnownMissing(id)) {
+            throw new ResourceNotFoundException("Book not found with id: " + id);
+        }
+        return bookDtoCache.get(id, () -> {
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            template.setReadOnly(true);
+            return template.execute(status -> bookMapper.toDto(findBookById(id)));
+        });
     }
     
     @Override
@@ -52,29 +107,79 @@ public class BookServiceImpl implements BookService {
         return bookMapper.toDtoPage(books);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<BookDTO> getAllBooks(Pageable pageable, CountMode countMode) {
+        return countedSlice(countMode, "all",
+                () -> getAllBooks(pageable),
+                () -> bookRepository.findAllBy(pageable),
+                bookRepository::count);
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public Page<BookDTO> searchBooks(BookSearchDTO searchDTO, Pageable pageable) {
-        // Check if we need to use author or collection specific search
-        if (searchDTO.getAuthorId() != null) {
-            return getBooksByAuthor(searchDTO.getAuthorId(), pageable);
+        Specification<Book> spec = BookSpecifications.matching(searchDTO);
+        Slice<Book> books = cachedSearch(SearchResultCache.key(searchDTO, pageable, true),
+                () -> bookRepository.findAll(spec, pageable));
+        return bookMapper.toDtoPage((Page<Book>) books);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<BookDTO> searchBooks(BookSearchDTO searchDTO, Pageable pageable, CountMode countMode) {
+        Specification<Book> spec = BookSpecifications.matching(searchDTO);
+        return countedSlice(countMode, "search:" + SearchResultCache.Criteria.of(searchDTO),
+                () -> searchBooks(searchDTO, pageable),
+                () -> cachedSearch(SearchResultCache.key(searchDTO, pageable, false),
+                        () -> bookRepository.findSlice(spec, pageable)),
+                () -> bookRepository.count(spec));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public BookFacetsDTO getSearchFacets(BookSearchDTO searchDTO) {
+        return bookRepository.countFacets(BookSpecifications.matching(searchDTO));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BookDTO> fullTextSearch(String query, Pageable pageable) {
+        SearchHits hits = bookSearchIndex.search(query, pageable.getOffset(), pageable.getPageSize());
+        return loadHits(hits, pageable);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BookDTO> fuzzySearch(String query, double threshold, Pageable pageable) {
+        if (threshold <= 0 || threshold > 1) {
+            throw new IllegalArgumentException("Similarity threshold must be greater than 0 and at most 1");
         }
         
-        if (searchDTO.getCollectionId() != null) {
-            return getBooksByCollection(searchDTO.getCollectionId(), pageable);
+        SearchHits hits = fuzzyBookSearch.search(query, threshold, pageable.getOffset(), pageable.getPageSize());
+        return loadHits(hits, pageable);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BookDTO> filterBooks(String filter, Pageable pageable) {
+        // The bitmaps are ordered by id, so that is the only order a page can be cut in without loading every match
+        Sort.Order order = pageable.getSort().getOrderFor("id");
+        if (pageable.getSort().isSorted() && (order == null || pageable.getSort().toList().size() > 1)) {
+            throw new IllegalArgumentException("Filtered listings can only be sorted by id");
         }
         
-        // Use the advanced search query
-        Page<Book> books = bookRepository.searchBooks(
-                searchDTO.getTitle(),
-                searchDTO.getIsbn(),
-                searchDTO.getSubGenre(),
-                searchDTO.getPublishedAfter(),
-                searchDTO.getPublishedBefore(),
-                pageable
-        );
-        
-        return bookMapper.toDtoPage(books);
+        boolean descending = order != null && order.isDescending();
+        SearchHits hits = bookBitmapIndex.search(BookFilterParser.parse(filter),
+                pageable.getOffset(), pageable.getPageSize(), descending);
+        return loadHits(hits, pageable);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<BookDTO> getBooksAfter(BookSearchDTO searchDTO, BookCursor cursor, int size) {
+        Slice<Book> books = bookRepository.findAfter(BookSpecifications.matching(searchDTO), cursor, size);
+        return bookMapper.toDtoSlice(books);
     }
     
     @Override
@@ -85,7 +190,7 @@ public class BookServiceImpl implements BookService {
         // Validate unique ISBN if changed
         if (StringUtils.hasText(bookUpdateDTO.getIsbn()) && 
                 !Objects.equals(existingBook.getIsbn(), bookUpdateDTO.getIsbn()) && 
-                bookRepository.existsByIsbn(bookUpdateDTO.getIsbn())) {
+                isbnExists(bookUpdateDTO.getIsbn())) {
             throw new IllegalArgumentException("A book with ISBN " + bookUpdateDTO.getIsbn() + " already exists");
         }
         
@@ -93,6 +198,11 @@ public class BookServiceImpl implements BookService {
         bookMapper.updateDtoToEntity(bookUpdateDTO, existingBook);
         
         Book updatedBook = bookRepository.save(existingBook);
+        if (bookUpdateDTO.getAuthorIds() != null) {
+            authorRepository.replaceBookLinks(id, bookUpdateDTO.getAuthorIds());
+        }
+        addIsbn(updatedBook);
+        eventPublisher.publishEvent(BookChangedEvent.saved(id));
         return bookMapper.toDto(updatedBook);
     }
     
@@ -104,7 +214,7 @@ public class BookServiceImpl implements BookService {
         // Validate unique ISBN if changed
         if (StringUtils.hasText(bookPatchDTO.getIsbn()) && 
                 !Objects.equals(existingBook.getIsbn(), bookPatchDTO.getIsbn()) && 
-                bookRepository.existsByIsbn(bookPatchDTO.getIsbn())) {
+                isbnExists(bookPatchDTO.getIsbn())) {
             throw new IllegalArgumentException("A book with ISBN " + bookPatchDTO.getIsbn() + " already exists");
         }
         
@@ -112,17 +222,23 @@ public class BookServiceImpl implements BookService {
         bookMapper.patchDtoToEntity(bookPatchDTO, existingBook);
         
         Book updatedBook = bookRepository.save(existingBook);
+        if (bookPatchDTO.getAuthorIds() != null) {
+            authorRepository.replaceBookLinks(id, bookPatchDTO.getAuthorIds());
+        }
+        addIsbn(updatedBook);
+        eventPublisher.publishEvent(BookChangedEvent.saved(id));
         return bookMapper.toDto(updatedBook);
     }
     
     @Override
     @Transactional
     public void deleteBook(Long id) {
-        if (!bookRepository.existsById(id)) {
+        if (!missingBookCache.exists(id, bookRepository::existsById)) {
             throw new ResourceNotFoundException("Book not found with id: " + id);
         }
         
         bookRepository.deleteById(id);
+        eventPublisher.publishEvent(BookChangedEvent.deleted(id));
     }
     
     @Override
@@ -135,6 +251,7 @@ public class BookServiceImpl implements BookService {
         author.getBooks().add(book);
         
         Book updatedBook = bookRepository.save(book);
+        eventPublisher.publishEvent(BookChangedEvent.saved(bookId));
         return bookMapper.toDto(updatedBook);
     }
     
@@ -148,9 +265,28 @@ public class BookServiceImpl implements BookService {
         author.getBooks().remove(book);
         
         Book updatedBook = bookRepository.save(book);
+        eventPublisher.publishEvent(BookChangedEvent.saved(bookId));
         return bookMapper.toDto(updatedBook);
     }
     
+    @Override
+    @Transactional
+    public void linkAuthor(Long bookId, Long authorId) {
+        requireBookAndAuthor(bookId, authorId);
+        if (authorRepository.insertBookLink(authorId, bookId)) {
+            eventPublisher.publishEvent(BookChangedEvent.saved(bookId));
+        }
+    }
+    
+    @Override
+    @Transactional
+    public void unlinkAuthor(Long bookId, Long authorId) {
+        requireBookAndAuthor(bookId, authorId);
+        if (authorRepository.deleteBookLink(authorId, bookId)) {
+            eventPublisher.publishEvent(BookChangedEvent.saved(bookId));
+        }
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public Page<BookDTO> getBooksByAuthor(Long authorId, Pageable pageable) {
@@ -163,6 +299,23 @@ public class BookServiceImpl implements BookService {
         return bookMapper.toDtoPage(books);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<BookDTO> getBooksByAuthor(Long authorId, Pageable pageable, CountMode countMode) {
+        if (countMode == CountMode.EXACT) {
+            return getBooksByAuthor(authorId, pageable);
+        }
+        
+        if (!authorRepository.existsById(authorId)) {
+            throw new ResourceNotFoundException("Author not found with id: " + authorId);
+        }
+        
+        return countedSlice(countMode, "author:" + authorId,
+                () -> getBooksByAuthor(authorId, pageable),
+                () -> bookRepository.findSliceByAuthorsId(authorId, pageable),
+                () -> bookRepository.countByAuthorsId(authorId));
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public Page<BookDTO> getBooksByCollection(Long collectionId, Pageable pageable) {
@@ -170,13 +323,123 @@ public class BookServiceImpl implements BookService {
         return bookMapper.toDtoPage(books);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<BookDTO> getBooksByCollection(Long collectionId, Pageable pageable, CountMode countMode) {
+        return countedSlice(countMode, "collection:" + collectionId,
+                () -> getBooksByCollection(collectionId, pageable),
+                () -> bookRepository.findSliceByCollectionsId(collectionId, pageable),
+                () -> bookRepository.countByCollectionsId(collectionId));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void exportBooks(Consumer<BookExportDTO> consumer) {
+        List<Book> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+        try (Stream<Book> books = bookRepository.streamAllByOrderById()) {
+            books.forEach(book -> {
+                chunk.add(book);
+                if (chunk.size() == EXPORT_CHUNK_SIZE) {
+                    exportChunk(chunk, consumer);
+                }
+            });
+        }
+        exportChunk(chunk, consumer);
+    }
+    
+    private Page<BookDTO> loadHits(SearchHits hits, Pageable pageable) {
+        return new PageImpl<>(bookMapper.toDtoList(findAllInOrder(hits.ids())), pageable, hits.total());
+    }
+    
+    // A cached search only costs a primary key lookup of its page; the search itself runs on a miss, and its
+    // entities are used as they are
+    private Slice<Book> cachedSearch(SearchResultCache.Key key, Supplier<Slice<Book>> search) {
+        List<Slice<Book>> searched = new ArrayList<>(1);
+        Slice<Long> ids = searchResultCache.get(key, () -> {
+            Slice<Book> books = search.get();
+            searched.add(books);
+            return books.map(Book::getId);
+        });
+        if (!searched.isEmpty()) {
+            return searched.get(0);
+        }
+        
+        List<Book> books = findAllInOrder(ids.getContent());
+        return ids instanceof Page<Long> page
+                ? new PageImpl<>(books, page.getPageable(), page.getTotalElements())
+                : new SliceImpl<>(books, ids.getPageable(), ids.hasNext());
+    }
+    
+    // findAllById does not keep the order of the ids, so put the rows back in it
+    private List<Book> findAllInOrder(List<Long> ids) {
+        Map<Long, Book> booksById = bookRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Book::getId, book -> book));
+        return ids.stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+    
+    // EXACT keeps the Page query with its COUNT, NONE skips counting, and ESTIMATED reuses a recent count
+    private Slice<BookDTO> countedSlice(CountMode countMode, String countKey,
+                                        Supplier<Page<BookDTO>> exact,
+                                        Supplier<Slice<Book>> slice,
+                                        LongSupplier counter) {
+        if (countMode == CountMode.EXACT) {
+            return exact.get();
+        }
+        
+        Slice<BookDTO> books = bookMapper.toDtoSlice(slice.get());
+        if (countMode == CountMode.NONE) {
+            return books;
+        }
+        
+        long total;
+        if (books.hasNext() || (books.getNumberOfElements() == 0 && !books.isFirst())) {
+            total = countCache.get(countKey, counter);
+        } else {
+            // The last slice tells us the exact total for free
+            total = books.getPageable().getOffset() + books.getNumberOfElements();
+            countCache.put(countKey, total);
+        }
+        return new PageImpl<>(books.getContent(), books.getPageable(), total);
+    }
+    
+    // Mapped while still attached so @BatchSize loads the chunk's authors and collections together,
+    // then cleared so the persistence context never holds more than one chunk
+    private void exportChunk(List<Book> chunk, Consumer<BookExportDTO> consumer) {
+        chunk.forEach(book -> consumer.accept(bookMapper.toExportDto(book)));
+        chunk.clear();
+        entityManager.clear();
+    }
+    
     private Book findBookById(Long id) {
-        return bookRepository.findById(id)
+        return missingBookCache.find(id, bookRepository::findById)
                 .orElseThrow(() -> new ResourceNotFoundException("Book not found with id: " + id));
     }
     
+    private boolean isbnExists(String isbn) {
+        return isbnFilter.mightExist(isbn) && bookRepository.existsByIsbn(isbn);
+    }
+    
+    // Before commit, so a concurrent create of the same ISBN is checked against the database
+    private void addIsbn(Book book) {
+        if (StringUtils.hasText(book.getIsbn())) {
+            isbnFilter.add(book.getIsbn());
+        }
+    }
+    
     private Author findAuthorById(Long id) {
         return authorRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Author not found with id: " + id));
     }
+    
+    private void requireBookAndAuthor(Long bookId, Long authorId) {
+        if (!missingBookCache.exists(bookId, bookRepository::existsById)) {
+            throw new ResourceNotFoundException("Book not found with id: " + bookId);
+        }
+        if (!authorRepository.existsById(authorId)) {
+            throw new ResourceNotFoundException("Author not found with id: " + authorId);
+        }
+    }
 }
\ No newline at end of file
@@ -1,55 +1,92 @@
 package com.sfcollection.service.impl;
 
+import com.sfcollection.dto.BulkLinkResultDTO;
 import com.sfcollection.dto.CollectionDTO;
+import com.sfcollection.event.CollectionChangedEvent;
 import com.sfcollection.exception.ResourceNotFoundException;
 import com.sfcollection.mapper.CollectionMapper;
+import com.sfcollection.mapper.SummaryLoader;
 import com.sfcollection.model.Book;
 import com.sfcollection.model.Collection;
 import com.sfcollection.repository.BookRepository;
 import com.sfcollection.repository.CollectionRepository;
 import com.sfcollection.service.CollectionService;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class CollectionServiceImpl implements CollectionService {
     
+    private static final int MAX_BULK_BOOK_IDS = 10_000;
+    
     private final CollectionRepository collectionRepository;
     private final BookRepository bookRepository;
     private final CollectionMapper collectionMapper;
+    private final SummaryLoader summaryLoader;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
     
     @Override
     @Transactional
     public CollectionDTO createCollection(CollectionDTO collectionDTO) {
         Collection collection = collectionMapper.toEntity(collectionDTO);
         Collection savedCollection = collectionRepository.save(collection);
+        eventPublisher.publishEvent(CollectionChangedEvent.saved(savedCollection.getId()));
         return collectionMapper.toDto(savedCollection);
     }
     
     @Override
     @Transactional(readOnly = true)
-    public CollectionDTO getCollectionById(Long id) {
-        Collection collection = findCollectionById(id);
-        return collectionMapper.toDto(collection);
+    public CollectionDTO getCollectionById(Long id, boolean includeBooks) {
+        CollectionDTO collection = collectionMapper.toDtoWithoutBooks(findCollectionById(id));
+        if (includeBooks) {
+            summaryLoader.loadBooksOfCollections(List.of(collection));
+        }
+        return collection;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Page<CollectionDTO> getAllCollections(Pageable pageable, boolean includeBooks) {
+        Page<CollectionDTO> collections = collectionRepository.findAll(pageable).map(collectionMapper::toDtoWithoutBooks);
+        if (includeBooks) {
+            summaryLoader.loadBooksOfCollections(collections.getContent());
+        }
+        return collections;
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<CollectionDTO> getAllCollections() {
-        List<Collection> collections = collectionRepository.findAll();
-        return collectionMapper.toDtoList(collections);
+    public void streamCollections(Consumer<CollectionDTO> consumer) {
+        try (Stream<Collection> collections = collectionRepository.streamAllByOrderById()) {
+            // Detach as we go so the persistence context stays flat however many rows there are
+            collections.forEach(collection -> {
+                consumer.accept(collectionMapper.toDtoWithoutBooks(collection));
+                entityManager.detach(collection);
+            });
+        }
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<CollectionDTO> searchCollectionsByName(String name) {
+    public List<CollectionDTO> searchCollectionsByName(String name, boolean includeBooks) {
         List<Collection> collections = collectionRepository.findByNameContainingIgnoreCase(name);
-        return collectionMapper.toDtoList(collections);
+        return toDtoList(collections, includeBooks);
     }
     
     @Override
@@ -61,6 +98,7 @@ public class CollectionServiceImpl implements CollectionService {
         existingCollection.setDescription(collectionDTO.getDescription());
         
         Collection updatedCollection = collectionRepository.save(existingCollection);
+        eventPublisher.publishEvent(CollectionChangedEvent.saved(id));
         return collectionMapper.toDto(updatedCollection);
     }
     
@@ -70,7 +108,10 @@ public class CollectionServiceImpl implements CollectionService {
         if (!collectionRepository.existsById(id)) {
             throw new ResourceNotFoundException("Collection not found with id: " + id);
         }
+        List<Long> bookIds = bookRepository.findIdsByCollectionId(id);
         collectionRepository.deleteById(id);
+        collectionRepository.evictCachedCollectionsOfBooks(bookIds);
+        eventPublisher.publishEvent(CollectionChangedEvent.deleted(id));
     }
     
     @Override
@@ -81,29 +122,55 @@ public class CollectionServiceImpl implements CollectionService {
         
         collection.getBooks().add(book);
         book.getCollections().add(collection);
+        syncBookCount(collection);
         
         Collection updatedCollection = collectionRepository.save(collection);
+        eventPublisher.publishEvent(CollectionChangedEvent.booksChanged(collectionId, List.of(bookId)));
         return collectionMapper.toDto(updatedCollection);
     }
     
     @Override
     @Transactional
-    public CollectionDTO addBooksToCollection(Long collectionId, List<Long> bookIds) {
-        Collection collection = findCollectionById(collectionId);
+    public BulkLinkResultDTO addBooksToCollection(Long collectionId, List<Long> bookIds) {
+        if (!collectionRepository.existsById(collectionId)) {
+            throw new ResourceNotFoundException("Collection not found with id: " + collectionId);
+        }
+        if (bookIds.size() > MAX_BULK_BOOK_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_BOOK_IDS + " book ids can be added at once");
+        }
+        if (bookIds.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Book ids must not contain null");
+        }
         
-        List<Book> booksToAdd = new ArrayList<>();
-        for (Long bookId : bookIds) {
-            Book book = findBookById(bookId);
-            booksToAdd.add(book);
+        Set<Long> requested = new LinkedHashSet<>(bookIds);
+        if (requested.isEmpty()) {
+            return BulkLinkResultDTO.builder().build();
         }
         
-        for (Book book : booksToAdd) {
-            collection.getBooks().add(book);
-            book.getCollections().add(collection);
+        Set<Long> existing = new HashSet<>(bookRepository.findExistingIds(requested));
+        Set<Long> alreadyLinked = collectionRepository.findLinkedBookIds(collectionId, existing);
+        
+        List<Long> toLink = new ArrayList<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long bookId : requested) {
+            if (!existing.contains(bookId)) {
+                missing.add(bookId);
+            } else if (!alreadyLinked.contains(bookId)) {
+                toLink.add(bookId);
+            }
         }
         
-        Collection updatedCollection = collectionRepository.save(collection);
-        return collectionMapper.toDto(updatedCollection);
+        if (!toLink.isEmpty()) {
+            collectionRepository.insertBookLinks(collectionId, toLink);
+            collectionRepository.refreshBookCount(collectionId);
+            eventPublisher.publishEvent(CollectionChangedEvent.booksChanged(collectionId, toLink));
+        }
+        
+        return BulkLinkResultDTO.builder()
+                .added(toLink.size())
+                .alreadyPresent(alreadyLinked.size())
+                .missing(missing)
+                .build();
     }
     
     @Override
@@ -114,11 +181,52 @@ public class CollectionServiceImpl implements CollectionService {
         
         collection.getBooks().remove(book);
         book.getCollections().remove(collection);
+        syncBookCount(collection);
         
         Collection updatedCollection = collectionRepository.save(collection);
+        eventPublisher.publishEvent(CollectionChangedEvent.booksChanged(collectionId, List.of(bookId)));
         return collectionMapper.toDto(updatedCollection);
     }
     
+    @Override
+    @Transactional
+    public void linkBook(Long collectionId, Long bookId) {
+        requireCollectionAndBook(collectionId, bookId);
+        if (collectionRepository.insertBookLink(collectionId, bookId)) {
+            collectionRepository.refreshBookCount(collectionId);
+            eventPublisher.publishEvent(CollectionChangedEvent.booksChanged(collectionId, List.of(bookId)));
+        }
+    }
+    
+    @Override
+    @Transactional
+    public void unlinkBook(Long collectionId, Long bookId) {
+        requireCollectionAndBook(collectionId, bookId);
+        if (collectionRepository.deleteBookLink(collectionId, bookId)) {
+            collectionRepository.refreshBookCount(collectionId);
+            eventPublisher.publishEvent(CollectionChangedEvent.booksChanged(collectionId, List.of(bookId)));
+        }
+    }
+    
+    @Override
+    @Transactional
+    public int repairBookCounts() {
+        return collectionRepository.repairBookCounts();
+    }
+    
+    // The set is already loaded by the add/remove above, so its size is free here
+    private void syncBookCount(Collection collection) {
+        collection.setBookCount(collection.getBooks().size());
+    }
+    
+    private List<CollectionDTO> toDtoList(List<Collection> collections, boolean includeBooks) {
+        List<CollectionDTO> dtos = collectionMapper.toDtoListWithoutBooks(collections);
+        if (includeBooks) {
+            summaryLoader.loadBooksOfCollections(dtos);
+        }
+        return dtos;
+    }
+    
     private Collection findCollectionById(Long id) {
         return collectionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Collection not found with id: " + id));
@@ -128,4 +236,13 @@ public class CollectionServiceImpl implements CollectionService {
         return bookRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Book not found with id: " + id));
     }
+    
+    private void requireCollectionAndBook(Long collectionId, Long bookId) {
+        if (!collectionRepository.existsById(collectionId)) {
+            throw new ResourceNotFoundException("Collection not found with id: " + collectionId);
+        }
+        if (!bookRepository.existsById(bookId)) {
+            throw new ResourceNotFoundException("Book not found with id: " + bookId);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.sfcollection.service.impl;
+
+import com.sfcollection.dto.SuggestionDTO;
+import com.sfcollection.dto.SuggestionType;
+import com.sfcollection.search.SuggestionIndex;
+import com.sfcollection.service.SuggestionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class SuggestionServiceImpl implements SuggestionService {
+    
+    private static final int MAX_LIMIT = 50;
+    
+    private final SuggestionIndex suggestionIndex;
+    
+    // Served entirely from memory; no transaction or database access on the type-ahead path
+    @Override
+    public List<SuggestionDTO> suggest(String prefix, SuggestionType type, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return suggestionIndex.suggest(type, prefix, limit);
+    }
+}
@@ -0,0 +1,73 @@
+-- Schema as it stood before migrations were introduced, apart from collections.book_count (see V4).
+-- Databases that already have it are baselined at version 1 (spring.flyway.baseline-on-migrate) and pick up from V2.
+CREATE SEQUENCE authors_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE books_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE collections_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE roles_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE authors (
+    id bigint NOT NULL PRIMARY KEY,
+    name varchar(255) NOT NULL,
+    biography varchar(4000),
+    birth_date date,
+    photo_url varchar(255)
+);
+
+CREATE TABLE books (
+    id bigint NOT NULL PRIMARY KEY,
+    title varchar(255) NOT NULL,
+    isbn varchar(255) CONSTRAINT uk_books_isbn UNIQUE,
+    published_date date,
+    description varchar(4000),
+    cover_image varchar(255),
+    sub_genre varchar(255) CHECK (sub_genre IN ('SPACE_OPERA', 'CYBERPUNK', 'DYSTOPIAN', 'POST_APOCALYPTIC',
+        'HARD_SF', 'FIRST_CONTACT', 'TIME_TRAVEL', 'ALTERNATE_HISTORY', 'MILITARY_SF', 'ALIEN_INVASION',
+        'SPACE_EXPLORATION', 'STEAMPUNK', 'BIOPUNK', 'CLIMATE_FICTION', 'SUPERHERO', 'ROBOT_FICTION',
+        'VIRTUAL_REALITY', 'SPACE_WESTERN', 'OTHER')),
+    page_count integer,
+    publisher varchar(255),
+    language varchar(255),
+    rating float4 CHECK (rating >= 1 AND rating <= 5),
+    read_status varchar(255) CHECK (read_status IN ('TO_READ', 'READING', 'COMPLETED', 'ABANDONED')),
+    date_added timestamp(6) NOT NULL
+);
+
+CREATE TABLE collections (
+    id bigint NOT NULL PRIMARY KEY,
+    name varchar(255) NOT NULL,
+    description varchar(2000),
+    book_count integer DEFAULT 0 NOT NULL,
+    date_created timestamp(6) NOT NULL,
+    last_modified timestamp(6)
+);
+
+CREATE TABLE book_author (
+    author_id bigint NOT NULL CONSTRAINT fk_book_author_author REFERENCES authors,
+    book_id bigint NOT NULL CONSTRAINT fk_book_author_book REFERENCES books,
+    PRIMARY KEY (author_id, book_id)
+);
+
+CREATE TABLE collection_book (
+    collection_id bigint NOT NULL CONSTRAINT fk_collection_book_collection REFERENCES collections,
+    book_id bigint NOT NULL CONSTRAINT fk_collection_book_book REFERENCES books,
+    PRIMARY KEY (collection_id, book_id)
+);
+
+CREATE TABLE roles (
+    id bigint NOT NULL PRIMARY KEY,
+    name varchar(255) NOT NULL CONSTRAINT uk_roles_name UNIQUE CHECK (name IN ('ROLE_USER', 'ROLE_ADMIN'))
+);
+
+CREATE TABLE users (
+    id bigint NOT NULL PRIMARY KEY,
+    username varchar(50) CONSTRAINT uk_users_username UNIQUE,
+    email varchar(100) CONSTRAINT uk_users_email UNIQUE,
+    password varchar(120)
+);
+
+CREATE TABLE user_roles (
+    user_id bigint NOT NULL CONSTRAINT fk_user_roles_user REFERENCES users,
+    role_id bigint NOT NULL CONSTRAINT fk_user_roles_role REFERENCES roles,
+    PRIMARY KEY (user_id, role_id)
+);
@@ -0,0 +1,14 @@
+-- Moves the primary keys from IDENTITY columns to the pooled sequences the entities use. A no-op for the ids
+-- themselves on databases created by V1, but it still lines every sequence up with the ids already present.
+-- Hibernate treats each nextval as the top of a block of 50 ids, so each sequence restarts 50 past the largest id.
+DO $$
+DECLARE
+    t text;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['books', 'authors', 'collections', 'users', 'roles'] LOOP
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', t);
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP DEFAULT', t);
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I INCREMENT BY 50', t || '_seq');
+        EXECUTE format('SELECT setval(%L, COALESCE((SELECT MAX(id) FROM %I), 0) + 50, false)', t || '_seq', t);
+    END LOOP;
+END $$;
@@ -0,0 +1,23 @@
+-- Indexes behind the repository queries. IF NOT EXISTS because databases baselined at V1 may already carry
+-- some of them from the old startup initializer.
+
+-- GIN trigram indexes on lower(title) and lower(name): GET /api/v1/books/fuzzy (% and <%) and the
+-- lower(title) LIKE '%...%' filter of the book search, which a btree cannot serve
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_books_title_trgm ON books USING gin (lower(title) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_authors_name_trgm ON authors USING gin (lower(name) gin_trgm_ops);
+
+-- Equality and range filters of the book search
+CREATE INDEX IF NOT EXISTS idx_books_sub_genre ON books (sub_genre);
+CREATE INDEX IF NOT EXISTS idx_books_published_date ON books (published_date);
+
+-- Keyset pagination orders by (title, id) or (date_added, id) and seeks past the cursor on the same pair
+CREATE INDEX IF NOT EXISTS idx_books_title_id ON books (title, id);
+CREATE INDEX IF NOT EXISTS idx_books_date_added_id ON books (date_added, id);
+
+-- Author lookups by exact name during import
+CREATE INDEX IF NOT EXISTS idx_authors_name ON authors (name);
+
+-- The primary keys lead with author_id and collection_id; these serve joins arriving from the book side
+CREATE INDEX IF NOT EXISTS idx_book_author_book ON book_author (book_id, author_id);
+CREATE INDEX IF NOT EXISTS idx_collection_book_book ON collection_book (book_id, collection_id);
@@ -0,0 +1,7 @@
+-- collections.book_count arrived through ddl-auto shortly before the migrations, so databases baselined at V1
+-- may not have it yet. Adds the column where missing and fills in the counts from the join table.
+ALTER TABLE collections ADD COLUMN IF NOT EXISTS book_count integer NOT NULL DEFAULT 0;
+
+UPDATE collections c
+SET book_count = (SELECT count(*) FROM collection_book cb WHERE cb.collection_id = c.id)
+WHERE book_count <> (SELECT count(*) FROM collection_book cb WHERE cb.collection_id = c.id);
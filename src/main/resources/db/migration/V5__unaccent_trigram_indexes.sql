@@ -0,0 +1,12 @@
+-- GET /api/v1/books/fuzzy strips accents from the query, so it matches against accent-free titles and names as
+-- well. unaccent() is only STABLE and cannot be indexed; search_unaccent() pins its dictionary and search_path
+-- so it can be IMMUTABLE. The V3 indexes on lower(title) stay for the LIKE filter of the book search.
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+CREATE OR REPLACE FUNCTION search_unaccent(text) RETURNS text
+    LANGUAGE sql IMMUTABLE STRICT PARALLEL SAFE
+    SET search_path FROM CURRENT
+    AS $$ SELECT unaccent('unaccent', $1) $$;
+
+CREATE INDEX IF NOT EXISTS idx_books_title_unaccent_trgm ON books USING gin (lower(search_unaccent(title)) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_authors_name_unaccent_trgm ON authors USING gin (lower(search_unaccent(name)) gin_trgm_ops);
@@ -1,15 +1,11 @@
--- Default roles - ensuring they exist with explicit IDs
+-- Default roles - ids from roles_seq, so roles saved later through JPA never reuse them
 DELETE FROM roles WHERE name = 'ROLE_USER' OR name = 'ROLE_ADMIN';
-INSERT INTO roles (id, name) VALUES (1, 'ROLE_USER');
-INSERT INTO roles (id, name) VALUES (2, 'ROLE_ADMIN');
+INSERT INTO roles (id, name) VALUES (nextval('roles_seq'), 'ROLE_USER');
+INSERT INTO roles (id, name) VALUES (nextval('roles_seq'), 'ROLE_ADMIN');
 
 -- Default admin user (username: admin, password: admin123)
-INSERT INTO users (username, email, password) 
-VALUES ('admin', 'admin@sfcollection.com', '$2a$10$hIpaOr0dH.jnSMkQefoRQuX9nbJ7Zj7tOXGm3d6vK.u0T/lc2AqEO') 
-ON CONFLICT DO NOTHING;
+-- Hibernate runs this file one line at a time, so every statement stays on a single line
+INSERT INTO users (id, username, email, password) SELECT nextval('users_seq'), 'admin', 'admin@sfcollection.com', '$2a$10$hIpaOr0dH.jnSMkQefoRQuX9nbJ7Zj7tOXGm3d6vK.u0T/lc2AqEO' WHERE NOT EXISTS (SELECT 1 FROM users WHERE username = 'admin');
 
 -- Assign admin role to admin user
-INSERT INTO user_roles (user_id, role_id) 
-SELECT u.id, r.id FROM users u, roles r 
-WHERE u.username = 'admin' AND r.name = 'ROLE_ADMIN'
-ON CONFLICT DO NOTHING;
\ No newline at end of file
+INSERT INTO user_roles (user_id, role_id) SELECT u.id, r.id FROM users u, roles r WHERE u.username = 'admin' AND r.name = 'ROLE_ADMIN' AND NOT EXISTS (SELECT 1 FROM user_roles ur WHERE ur.user_id = u.id AND ur.role_id = r.id);
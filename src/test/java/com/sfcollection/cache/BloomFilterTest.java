@@ -0,0 +1,38 @@
+package com.sfcollection.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_ShouldNeverMissAValueThatWasPut() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put(isbn(i)));
+
+        assertTrue(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain(isbn(i))));
+    }
+
+    @Test
+    void mightContain_AtCapacity_ShouldStayNearTheFalsePositiveRate() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put(isbn(i)));
+
+        long falsePositives = IntStream.range(10_000, 110_000).filter(i -> filter.mightContain(isbn(i))).count();
+
+        assertTrue(falsePositives < 2_000, "False positives: " + falsePositives);
+    }
+
+    @Test
+    void create_WithInvalidSizing_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(100, 1));
+    }
+
+    private static String isbn(int i) {
+        return String.format("978%010d", i);
+    }
+}
@@ -0,0 +1,167 @@
+package com.sfcollection.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sfcollection.dto.AuthorSummaryDTO;
+import com.sfcollection.dto.BookDTO;
+import com.sfcollection.event.AuthorChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookDtoCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private BookDtoCache cache;
+
+    private AtomicInteger loads;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        cache = new BookDtoCache(objectMapper, DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+        loads = new AtomicInteger();
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void get_ShouldLoadOnceAndHandOutCopies() {
+        BookDTO first = cache.get(1L, () -> load(book(1L, "Dune")));
+        first.setTitle("Changed by the caller");
+        BookDTO second = cache.get(1L, () -> load(book(1L, "Dune Messiah")));
+
+        assertEquals(1, loads.get());
+        assertEquals("Dune", second.getTitle());
+        assertNotSame(first, second);
+    }
+
+    @Test
+    void get_WhenInvalidatedDuringTheLoad_ShouldServeButNotKeepTheLoadedValue() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch invalidated = new CountDownLatch(1);
+        Future<BookDTO> stale = executor.submit(() -> cache.get(1L, () -> {
+            loading.countDown();
+            await(invalidated);
+            return load(bookBy(1L, "Dune", 7L, "Frank Herbert"));
+        }));
+
+        // The author was renamed while the book, showing the old name, was being loaded
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        cache.onAuthorChanged(AuthorChangedEvent.saved(7L));
+        invalidated.countDown();
+
+        assertEquals("Frank Herbert", author(stale.get(5, TimeUnit.SECONDS)));
+        BookDTO fresh = cache.get(1L, () -> load(bookBy(1L, "Dune", 7L, "Frank P. Herbert")));
+        assertEquals("Frank P. Herbert", author(fresh));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void onAuthorChanged_ShouldDropTheBooksShowingThatAuthor() {
+        BookDTO dune = bookBy(1L, "Dune", 7L, "Frank Herbert");
+        cache.get(1L, () -> load(dune));
+        cache.get(2L, () -> load(book(2L, "Hyperion")));
+
+        cache.onAuthorChanged(AuthorChangedEvent.saved(7L));
+        cache.get(1L, () -> load(dune));
+        cache.get(2L, () -> load(book(2L, "Hyperion")));
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void get_ShouldBoundTheCacheBySerializedSize() {
+        BookDTO small = book(0L, "Dune");
+        BookDTO large = book(0L, "Dune");
+        large.setDescription("x".repeat(4000));
+        long smallBytes = serializedSize(small);
+        long largeBytes = serializedSize(large);
+        // Room for all the small books, or for only a few of the large ones
+        DataSize maxSize = DataSize.ofBytes(largeBytes * 4);
+        int books = 20;
+        assertTrue(smallBytes * books < maxSize.toBytes());
+
+        BookDtoCache smallBooks = new BookDtoCache(objectMapper, maxSize, Duration.ofMinutes(1));
+        BookDtoCache largeBooks = new BookDtoCache(objectMapper, maxSize, Duration.ofMinutes(1));
+        SimpleMeterRegistry smallMetrics = new SimpleMeterRegistry();
+        SimpleMeterRegistry largeMetrics = new SimpleMeterRegistry();
+        smallBooks.bindTo(smallMetrics);
+        largeBooks.bindTo(largeMetrics);
+        for (long id = 1; id <= books; id++) {
+            smallBooks.get(id, () -> small);
+            largeBooks.get(id, () -> large);
+        }
+
+        // Eviction runs on Caffeine's maintenance thread
+        assertEventually(() -> cacheSize(largeMetrics) <= 4);
+        assertEquals(books, cacheSize(smallMetrics));
+        assertEquals(0, smallMetrics.get("cache.evictions").functionCounter().count());
+    }
+
+    private BookDTO load(BookDTO book) {
+        loads.incrementAndGet();
+        return book;
+    }
+
+    private long serializedSize(BookDTO book) {
+        try {
+            return objectMapper.writeValueAsBytes(book).length;
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static double cacheSize(SimpleMeterRegistry registry) {
+        return registry.get("cache.size").gauge().value();
+    }
+
+    private static BookDTO book(Long id, String title) {
+        return BookDTO.builder().id(id).title(title).build();
+    }
+
+    private static BookDTO bookBy(Long id, String title, Long authorId, String authorName) {
+        BookDTO book = book(id, title);
+        book.setAuthors(Set.of(AuthorSummaryDTO.builder().id(authorId).name(authorName).build()));
+        return book;
+    }
+
+    private static String author(BookDTO book) {
+        return book.getAuthors().iterator().next().getName();
+    }
+
+    private static void assertEventually(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition not met within 5 seconds");
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.sfcollection.cache;
+
+import com.sfcollection.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+class IsbnFilterTest {
+
+    private BookRepository bookRepository;
+
+    private IsbnFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository = Mockito.mock(BookRepository.class);
+        when(bookRepository.findIsbnsAfter(eq(""), any(Pageable.class))).thenReturn(List.of());
+        filter = new IsbnFilter(bookRepository, 0.01, 1000);
+    }
+
+    @Test
+    void mightExist_BeforeTheFirstLoad_ShouldLeaveEveryIsbnToTheDatabase() {
+        assertTrue(filter.mightExist("9780441172719"));
+    }
+
+    @Test
+    void rebuild_ShouldKeepIsbnsAddedBeforeItStartedThatItsScanMissed() {
+        filter.rebuild();
+        // Added by a write whose transaction commits only after the next rebuild has scanned past it
+        filter.add("9780441172719");
+
+        filter.rebuild();
+
+        assertTrue(filter.mightExist("9780441172719"));
+    }
+
+    @Test
+    void rebuild_ShouldKeepIsbnsAddedWhileItScans() {
+        filter.rebuild();
+        when(bookRepository.findIsbnsAfter(eq(""), any(Pageable.class))).thenAnswer(invocation -> {
+            filter.add("9780441172719");
+            return List.of();
+        });
+
+        filter.rebuild();
+
+        assertTrue(filter.mightExist("9780441172719"));
+    }
+
+    @Test
+    void rebuild_WhenTheScanFails_ShouldCarryItsAddedIsbnsToTheNextRebuild() {
+        filter.rebuild();
+        filter.add("9780441172719");
+        when(bookRepository.findIsbnsAfter(eq(""), any(Pageable.class)))
+                .thenThrow(new IllegalStateException("connection lost"))
+                .thenReturn(List.of());
+
+        assertThrows(IllegalStateException.class, filter::rebuild);
+        filter.rebuild();
+
+        assertTrue(filter.mightExist("9780441172719"));
+    }
+}
@@ -0,0 +1,124 @@
+package com.sfcollection.cache;
+
+import com.sfcollection.dto.BookSearchDTO;
+import com.sfcollection.event.BookChangedEvent;
+import com.sfcollection.event.CollectionChangedEvent;
+import com.sfcollection.model.SubGenre;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchResultCacheTest {
+
+    private static final SearchResultCache.Key KEY = SearchResultCache.key(
+            BookSearchDTO.builder().subGenre(SubGenre.CYBERPUNK).build(), PageRequest.of(0, 10), true);
+
+    private SearchResultCache cache;
+
+    private AtomicInteger searches;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SearchResultCache(100, Duration.ofMinutes(1));
+        searches = new AtomicInteger();
+    }
+
+    @Test
+    void key_ShouldIgnoreTitleCaseAndWhitespaceAndBlankText() {
+        PageRequest page = PageRequest.of(2, 20, Sort.by("title"));
+
+        assertEquals(
+                SearchResultCache.key(BookSearchDTO.builder().title("Neuromancer").build(), page, false),
+                SearchResultCache.key(BookSearchDTO.builder().title("NEUROMANCER").isbn("  ").build(), page, false));
+        assertEquals(
+                SearchResultCache.key(BookSearchDTO.builder().title("Dune").build(), page, false),
+                SearchResultCache.key(BookSearchDTO.builder().title(" dune ").build(), page, false));
+        assertNotEquals(
+                SearchResultCache.key(BookSearchDTO.builder().title("Neuromancer").build(), page, false),
+                SearchResultCache.key(BookSearchDTO.builder().title("Neuromancer").build(), page, true));
+        assertNotEquals(
+                SearchResultCache.key(BookSearchDTO.builder().title("Neuromancer").build(), page, false),
+                SearchResultCache.key(BookSearchDTO.builder().title("Neuromancer").build(), page.withSort(Sort.by("id")), false));
+    }
+
+    @Test
+    void get_ShouldSearchOnceUntilAWrite() {
+        cache.get(KEY, this::search);
+        Slice<Long> cached = cache.get(KEY, this::search);
+
+        assertEquals(1, searches.get());
+        assertEquals(List.of(1L, 2L), cached.getContent());
+
+        cache.onCollectionChanged(CollectionChangedEvent.saved(5L));
+        cache.get(KEY, this::search);
+        assertEquals(1, searches.get());
+
+        cache.onBookChanged(BookChangedEvent.saved(7L));
+        cache.get(KEY, this::search);
+        assertEquals(2, searches.get());
+    }
+
+    @Test
+    void get_WhenAWriteLandsDuringTheSearch_ShouldSearchAgainNextTime() {
+        cache.get(KEY, () -> {
+            cache.onCollectionChanged(CollectionChangedEvent.booksChanged(5L, List.of(1L)));
+            return search();
+        });
+        cache.get(KEY, this::search);
+
+        assertEquals(2, searches.get());
+    }
+
+    @Test
+    void get_WithConcurrentMissesOnOneKey_ShouldSearchOnce() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            List<Future<Slice<Long>>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> cache.get(KEY, () -> {
+                    await(release);
+                    return search();
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<Slice<Long>> result : results) {
+                assertEquals(List.of(1L, 2L), result.get(5, TimeUnit.SECONDS).getContent());
+            }
+            assertEquals(1, searches.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Slice<Long> search() {
+        searches.incrementAndGet();
+        return new PageImpl<>(List.of(1L, 2L), PageRequest.of(0, 10), 2);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -8,6 +8,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -71,7 +73,7 @@ class AuthorControllerTest {
     @Test
     void getAuthorById_ShouldReturnAuthor() throws Exception {
         // Arrange
-        when(authorService.getAuthorById(1L)).thenReturn(testAuthorDTO);
+        when(authorService.getAuthorById(1L, false)).thenReturn(testAuthorDTO);
 
         // Act & Assert
         mockMvc.perform(get("/api/v1/authors/1"))
@@ -79,7 +81,7 @@ class AuthorControllerTest {
                 .andExpect(jsonPath("$.data.id", is(1)))
                 .andExpect(jsonPath("$.data.name", is("Frank Herbert")));
 
-        verify(authorService, times(1)).getAuthorById(1L);
+        verify(authorService, times(1)).getAuthorById(1L, false);
     }
 
     @Test
@@ -91,7 +93,7 @@ class AuthorControllerTest {
                 .build();
         
         List<AuthorDTO> authors = Arrays.asList(testAuthorDTO, secondAuthor);
-        when(authorService.getAllAuthors()).thenReturn(authors);
+        when(authorService.getAllAuthors(any(Pageable.class), eq(false))).thenReturn(new PageImpl<>(authors));
 
         // Act & Assert
         mockMvc.perform(get("/api/v1/authors"))
@@ -102,14 +104,14 @@ class AuthorControllerTest {
                 .andExpect(jsonPath("$.data[1].id", is(2)))
                 .andExpect(jsonPath("$.data[1].name", is("Isaac Asimov")));
 
-        verify(authorService, times(1)).getAllAuthors();
+        verify(authorService, times(1)).getAllAuthors(any(Pageable.class), eq(false));
     }
 
     @Test
     void searchAuthorsByName_ShouldReturnMatchingAuthors() throws Exception {
         // Arrange
         List<AuthorDTO> authors = Collections.singletonList(testAuthorDTO);
-        when(authorService.searchAuthorsByName(anyString())).thenReturn(authors);
+        when(authorService.searchAuthorsByName(anyString(), eq(false))).thenReturn(authors);
 
         // Act & Assert
         mockMvc.perform(get("/api/v1/authors/search?name=Frank"))
@@ -118,7 +120,7 @@ class AuthorControllerTest {
                 .andExpect(jsonPath("$.data[0].id", is(1)))
                 .andExpect(jsonPath("$.data[0].name", is("Frank Herbert")));
 
-        verify(authorService, times(1)).searchAuthorsByName("Frank");
+        verify(authorService, times(1)).searchAuthorsByName("Frank", false);
     }
 
     @Test
@@ -147,7 +147,7 @@ class BookControllerTest {
         List<BookDTO> books = Arrays.asList(testBookDTO, secondBookDTO);
         Page<BookDTO> bookPage = new PageImpl<>(books);
         
-        when(bookService.getAllBooks(any(Pageable.class))).thenReturn(bookPage);
+        when(bookService.getAllBooks(any(Pageable.class), eq(CountMode.EXACT))).thenReturn(bookPage);
 
         // Act & Assert
         mockMvc.perform(get("/api/v1/books"))
@@ -223,7 +223,7 @@ class BookControllerTest {
         when(bookService.addAuthorToBook(anyLong(), anyLong())).thenReturn(testBookDTO);
 
         // Act & Assert
-        mockMvc.perform(post("/api/v1/books/1/authors/1"))
+        mockMvc.perform(post("/api/v1/books/1/authors/1").param("return", "representation"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data.id", is(1)))
                 .andExpect(jsonPath("$.data.title", is("Dune")));
@@ -237,7 +237,7 @@ class BookControllerTest {
         when(bookService.removeAuthorFromBook(anyLong(), anyLong())).thenReturn(testBookDTO);
 
         // Act & Assert
-        mockMvc.perform(delete("/api/v1/books/1/authors/1"))
+        mockMvc.perform(delete("/api/v1/books/1/authors/1").param("return", "representation"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data.id", is(1)))
                 .andExpect(jsonPath("$.data.title", is("Dune")));
@@ -251,7 +251,7 @@ class BookControllerTest {
         List<BookDTO> books = Collections.singletonList(testBookDTO);
         Page<BookDTO> bookPage = new PageImpl<>(books);
         
-        when(bookService.getBooksByAuthor(eq(1L), any(Pageable.class))).thenReturn(bookPage);
+        when(bookService.getBooksByAuthor(eq(1L), any(Pageable.class), eq(CountMode.EXACT))).thenReturn(bookPage);
 
         // Act & Assert
         mockMvc.perform(get("/api/v1/books/authors/1"))
@@ -269,7 +269,7 @@ class BookControllerTest {
         List<BookDTO> books = Collections.singletonList(testBookDTO);
         Page<BookDTO> bookPage = new PageImpl<>(books);
         
-        when(bookService.getBooksByCollection(eq(1L), any(Pageable.class))).thenReturn(bookPage);
+        when(bookService.getBooksByCollection(eq(1L), any(Pageable.class), eq(CountMode.EXACT))).thenReturn(bookPage);
 
         // Act & Assert
         mockMvc.perform(get("/api/v1/books/collections/1"))
@@ -287,7 +287,7 @@ class BookControllerTest {
         List<BookDTO> books = Collections.singletonList(testBookDTO);
         Page<BookDTO> bookPage = new PageImpl<>(books);
         
-        when(bookService.searchBooks(any(BookSearchDTO.class), any(Pageable.class))).thenReturn(bookPage);
+        when(bookService.searchBooks(any(BookSearchDTO.class), any(Pageable.class), eq(CountMode.EXACT))).thenReturn(bookPage);
 
         // Act & Assert
         mockMvc.perform(get("/api/v1/books/search?title=Dune"))
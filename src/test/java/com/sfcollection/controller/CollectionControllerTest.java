@@ -1,6 +1,7 @@
 package com.sfcollection.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sfcollection.dto.BulkLinkResultDTO;
 import com.sfcollection.dto.CollectionDTO;
 import com.sfcollection.service.CollectionService;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,6 +9,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -71,7 +74,7 @@ class CollectionControllerTest {
     @Test
     void getCollectionById_ShouldReturnCollection() throws Exception {
         // Arrange
-        when(collectionService.getCollectionById(1L)).thenReturn(testCollectionDTO);
+        when(collectionService.getCollectionById(1L, false)).thenReturn(testCollectionDTO);
 
         // Act & Assert
         mockMvc.perform(get("/api/v1/collections/1"))
@@ -79,7 +82,7 @@ class CollectionControllerTest {
                 .andExpect(jsonPath("$.data.id", is(1)))
                 .andExpect(jsonPath("$.data.name", is("Science Fiction Classics")));
 
-        verify(collectionService, times(1)).getCollectionById(1L);
+        verify(collectionService, times(1)).getCollectionById(1L, false);
     }
 
     @Test
@@ -92,7 +95,7 @@ class CollectionControllerTest {
                 .build();
         
         List<CollectionDTO> collections = Arrays.asList(testCollectionDTO, secondCollection);
-        when(collectionService.getAllCollections()).thenReturn(collections);
+        when(collectionService.getAllCollections(any(Pageable.class), eq(false))).thenReturn(new PageImpl<>(collections));
 
         // Act & Assert
         mockMvc.perform(get("/api/v1/collections"))
@@ -103,14 +106,14 @@ class CollectionControllerTest {
                 .andExpect(jsonPath("$.data[1].id", is(2)))
                 .andExpect(jsonPath("$.data[1].name", is("New Releases")));
 
-        verify(collectionService, times(1)).getAllCollections();
+        verify(collectionService, times(1)).getAllCollections(any(Pageable.class), eq(false));
     }
 
     @Test
     void searchCollectionsByName_ShouldReturnMatchingCollections() throws Exception {
         // Arrange
         List<CollectionDTO> collections = Collections.singletonList(testCollectionDTO);
-        when(collectionService.searchCollectionsByName(anyString())).thenReturn(collections);
+        when(collectionService.searchCollectionsByName(anyString(), eq(false))).thenReturn(collections);
 
         // Act & Assert
         mockMvc.perform(get("/api/v1/collections/search?name=Classics"))
@@ -119,7 +122,7 @@ class CollectionControllerTest {
                 .andExpect(jsonPath("$.data[0].id", is(1)))
                 .andExpect(jsonPath("$.data[0].name", is("Science Fiction Classics")));
 
-        verify(collectionService, times(1)).searchCollectionsByName("Classics");
+        verify(collectionService, times(1)).searchCollectionsByName("Classics", false);
     }
 
     @Test
@@ -162,7 +165,7 @@ class CollectionControllerTest {
         when(collectionService.addBookToCollection(anyLong(), anyLong())).thenReturn(testCollectionDTO);
 
         // Act & Assert
-        mockMvc.perform(post("/api/v1/collections/1/books/1"))
+        mockMvc.perform(post("/api/v1/collections/1/books/1").param("return", "representation"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data.id", is(1)))
                 .andExpect(jsonPath("$.data.name", is("Science Fiction Classics")));
@@ -171,18 +174,24 @@ class CollectionControllerTest {
     }
 
     @Test
-    void addBooksToCollection_ShouldReturnUpdatedCollection() throws Exception {
+    void addBooksToCollection_ShouldReturnSummary() throws Exception {
         // Arrange
         List<Long> bookIds = Arrays.asList(1L, 2L, 3L);
-        when(collectionService.addBooksToCollection(anyLong(), anyList())).thenReturn(testCollectionDTO);
+        BulkLinkResultDTO result = BulkLinkResultDTO.builder()
+                .added(1)
+                .alreadyPresent(1)
+                .missing(Collections.singletonList(3L))
+                .build();
+        when(collectionService.addBooksToCollection(anyLong(), anyList())).thenReturn(result);
 
         // Act & Assert
         mockMvc.perform(post("/api/v1/collections/1/books")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(bookIds)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.data.id", is(1)))
-                .andExpect(jsonPath("$.data.name", is("Science Fiction Classics")));
+                .andExpect(jsonPath("$.data.added", is(1)))
+                .andExpect(jsonPath("$.data.alreadyPresent", is(1)))
+                .andExpect(jsonPath("$.data.missing[0]", is(3)));
 
         verify(collectionService, times(1)).addBooksToCollection(eq(1L), anyList());
     }
@@ -193,7 +202,7 @@ class CollectionControllerTest {
         when(collectionService.removeBookFromCollection(anyLong(), anyLong())).thenReturn(testCollectionDTO);
 
         // Act & Assert
-        mockMvc.perform(delete("/api/v1/collections/1/books/1"))
+        mockMvc.perform(delete("/api/v1/collections/1/books/1").param("return", "representation"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data.id", is(1)))
                 .andExpect(jsonPath("$.data.name", is("Science Fiction Classics")));
@@ -0,0 +1,83 @@
+package com.sfcollection.dto;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookCursorTest {
+
+    @Test
+    void decode_WithEmptyToken_ShouldStartFromBeginning() {
+        BookCursor cursor = BookCursor.decode("", Sort.by("title"));
+
+        assertTrue(cursor.isFirst());
+        assertEquals("title", cursor.getProperty());
+        assertEquals(Sort.Direction.ASC, cursor.getDirection());
+    }
+
+    @Test
+    void encodeAndDecode_ShouldRoundTripTitleKey() {
+        BookDTO book = BookDTO.builder().id(42L).title("Foundation: The Trilogy").build();
+        String token = BookCursor.decode("", Sort.by("title")).after(book).encode();
+
+        BookCursor cursor = BookCursor.decode(token, Sort.by("title"));
+
+        assertFalse(cursor.isFirst());
+        assertEquals("Foundation: The Trilogy", cursor.getTitle());
+        assertEquals(42L, cursor.getId());
+    }
+
+    @Test
+    void encodeAndDecode_ShouldRoundTripDateAddedKey() {
+        LocalDateTime dateAdded = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123456000);
+        BookDTO book = BookDTO.builder().id(7L).title("Dune").dateAdded(dateAdded).build();
+        Sort sort = Sort.by(Sort.Direction.DESC, "dateAdded");
+        String token = BookCursor.decode("", sort).after(book).encode();
+
+        BookCursor cursor = BookCursor.decode(token, sort);
+
+        assertEquals(dateAdded, cursor.getDateAdded());
+        assertEquals(Sort.Direction.DESC, cursor.getDirection());
+        assertEquals(7L, cursor.getId());
+    }
+
+    @Test
+    void decode_WithMismatchedSort_ShouldThrowIllegalArgumentException() {
+        BookDTO book = BookDTO.builder().id(1L).title("Dune").build();
+        String token = BookCursor.decode("", Sort.by("title")).after(book).encode();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> BookCursor.decode(token, Sort.by(Sort.Direction.DESC, "title")));
+    }
+
+    @Test
+    void decode_WithUnsupportedSort_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> BookCursor.decode("", Sort.by("isbn")));
+    }
+
+    @Test
+    void decode_WithGarbageToken_ShouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> BookCursor.decode("not-a-cursor!", Sort.by("title")));
+    }
+
+    @Test
+    void nextToken_ShouldPointAfterLastElementOnlyWhenMoreRowsExist() {
+        BookCursor cursor = BookCursor.decode("", Sort.by("title"));
+        List<BookDTO> books = List.of(
+                BookDTO.builder().id(1L).title("Dune").build(),
+                BookDTO.builder().id(2L).title("Hyperion").build());
+
+        Slice<BookDTO> more = new SliceImpl<>(books, PageRequest.of(0, 2), true);
+        Slice<BookDTO> done = new SliceImpl<>(books, PageRequest.of(0, 2), false);
+
+        assertEquals("Hyperion", BookCursor.decode(cursor.nextToken(more), Sort.by("title")).getTitle());
+        assertNull(cursor.nextToken(done));
+    }
+}
@@ -0,0 +1,76 @@
+package com.sfcollection.mapper;
+
+import com.sfcollection.exception.ResourceNotFoundException;
+import com.sfcollection.model.Author;
+import com.sfcollection.repository.AuthorRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthorReferenceResolverTest {
+
+    @Mock
+    private AuthorRepository authorRepository;
+
+    @InjectMocks
+    private AuthorReferenceResolver resolver;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCompletion(0));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void resolve_ShouldLoadAllIdsInOneQuery() {
+        when(authorRepository.findAllById(anyIterable())).thenReturn(List.of(author(1L), author(2L), author(3L)));
+
+        Set<Author> authors = resolver.resolve(Set.of(1L, 2L, 3L));
+
+        assertEquals(3, authors.size());
+        verify(authorRepository, times(1)).findAllById(anyIterable());
+        verify(authorRepository, never()).findById(any());
+    }
+
+    @Test
+    void resolve_ShouldReportEveryUnknownId() {
+        when(authorRepository.findAllById(anyIterable())).thenReturn(List.of(author(2L)));
+
+        ResourceNotFoundException ex = assertThrows(ResourceNotFoundException.class,
+                () -> resolver.resolve(Set.of(1L, 2L, 3L)));
+
+        assertEquals("Authors not found with ids: [1, 3]", ex.getMessage());
+    }
+
+    @Test
+    void resolve_ShouldReuseAuthorsWithinTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        when(authorRepository.findAllById(List.of(1L))).thenReturn(List.of(author(1L)));
+        when(authorRepository.findAllById(List.of(2L))).thenReturn(List.of(author(2L)));
+
+        resolver.resolve(Set.of(1L));
+        Set<Author> authors = resolver.resolve(Set.of(1L, 2L));
+
+        assertEquals(2, authors.size());
+        verify(authorRepository).findAllById(List.of(1L));
+        verify(authorRepository).findAllById(List.of(2L));
+    }
+
+    private Author author(Long id) {
+        return Author.builder().id(id).name("Author " + id).build();
+    }
+}
@@ -0,0 +1,61 @@
+package com.sfcollection.repository;
+
+import com.sfcollection.model.Author;
+import com.sfcollection.model.Book;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class AuthorRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Test
+    void insertBookLink_ShouldBeVisibleThroughTheMapping() {
+        Author author = entityManager.persist(Author.builder().name("Frank Herbert").build());
+        Book dune = entityManager.persist(Book.builder().title("Dune").build());
+        entityManager.flush();
+
+        assertTrue(authorRepository.insertBookLink(author.getId(), dune.getId()));
+        assertFalse(authorRepository.insertBookLink(author.getId(), dune.getId()));
+        entityManager.clear();
+
+        Book reloaded = entityManager.find(Book.class, dune.getId());
+        assertEquals(1, reloaded.getAuthors().size());
+
+        assertTrue(authorRepository.deleteBookLink(author.getId(), dune.getId()));
+        entityManager.clear();
+        assertTrue(entityManager.find(Book.class, dune.getId()).getAuthors().isEmpty());
+    }
+
+    @Test
+    void replaceBookLinks_ShouldLeaveTheBookWithExactlyTheGivenAuthors() {
+        Author frank = entityManager.persist(Author.builder().name("Frank Herbert").build());
+        Author brian = entityManager.persist(Author.builder().name("Brian Herbert").build());
+        Author kevin = entityManager.persist(Author.builder().name("Kevin J. Anderson").build());
+        Book dune = entityManager.persist(Book.builder().title("Dune").build());
+        entityManager.flush();
+        authorRepository.insertBookLink(frank.getId(), dune.getId());
+        authorRepository.insertBookLink(brian.getId(), dune.getId());
+
+        assertTrue(authorRepository.replaceBookLinks(dune.getId(), Set.of(brian.getId(), kevin.getId())));
+        assertFalse(authorRepository.replaceBookLinks(dune.getId(), Set.of(brian.getId(), kevin.getId())));
+        entityManager.clear();
+
+        Set<Long> authorIds = entityManager.find(Book.class, dune.getId()).getAuthors().stream()
+                .map(Author::getId)
+                .collect(Collectors.toSet());
+        assertEquals(Set.of(brian.getId(), kevin.getId()), authorIds);
+    }
+}
@@ -0,0 +1,51 @@
+package com.sfcollection.repository;
+
+import com.sfcollection.model.Author;
+import com.sfcollection.model.Book;
+import com.sfcollection.model.SubGenre;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class BookBatchRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Test
+    void insertBooks_ShouldReturnIdsInOrderAndLinkAuthors() {
+        Author author = entityManager.persist(Author.builder().name("Frank Herbert").build());
+        entityManager.flush();
+
+        List<Book> books = List.of(
+                Book.builder().title("Dune").isbn("9780441172719").subGenre(SubGenre.SPACE_OPERA)
+                        .publishedDate(LocalDate.of(1965, 8, 1)).rating(4.5f).build(),
+                Book.builder().title("Dune Messiah").build());
+        List<Long> ids = bookRepository.insertBooks(books);
+        bookRepository.insertAuthorLinks(Map.of(ids.get(0), Set.of(author.getId())));
+        entityManager.clear();
+
+        assertEquals(2, ids.size());
+        assertEquals(ids.get(0), books.get(0).getId());
+        Book dune = entityManager.find(Book.class, ids.get(0));
+        assertEquals("Dune", dune.getTitle());
+        assertEquals(SubGenre.SPACE_OPERA, dune.getSubGenre());
+        assertEquals(LocalDate.of(1965, 8, 1), dune.getPublishedDate());
+        assertNotNull(dune.getDateAdded());
+        assertEquals(Set.of(author), dune.getAuthors());
+        assertEquals("Dune Messiah", entityManager.find(Book.class, ids.get(1)).getTitle());
+        assertEquals(List.of("9780441172719"), bookRepository.findExistingIsbns(Set.of("9780441172719", "unknown")));
+    }
+}
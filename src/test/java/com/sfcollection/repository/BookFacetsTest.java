@@ -0,0 +1,85 @@
+package com.sfcollection.repository;
+
+import com.sfcollection.dto.BookFacetsDTO;
+import com.sfcollection.model.Book;
+import com.sfcollection.model.ReadStatus;
+import com.sfcollection.model.SubGenre;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class BookFacetsTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @BeforeEach
+    void setUp() {
+        persist("Dune", 1965, SubGenre.SPACE_OPERA, ReadStatus.COMPLETED, "English");
+        persist("Dune Messiah", 1969, SubGenre.SPACE_OPERA, ReadStatus.TO_READ, "English");
+        persist("Solaris", 1961, null, ReadStatus.COMPLETED, "Polish");
+        persist("Neuromancer", 1984, SubGenre.CYBERPUNK, ReadStatus.COMPLETED, "English");
+        persist("Hyperion", 1989, SubGenre.SPACE_OPERA, null, null);
+        persist("Blindsight", null, SubGenre.HARD_SF, ReadStatus.READING, "English");
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void countFacets_ShouldCountEachValueMostFrequentFirstAndSkipMissingValues() {
+        BookFacetsDTO facets = bookRepository.countFacets(Specification.where(null));
+
+        assertFacet(facets.getSubGenre(), "SPACE_OPERA=3", "CYBERPUNK=1", "HARD_SF=1");
+        assertFacet(facets.getReadStatus(), "COMPLETED=3", "READING=1", "TO_READ=1");
+        assertFacet(facets.getLanguage(), "English=4", "Polish=1");
+        assertFacet(facets.getDecade(), "1960s=3", "1980s=2");
+    }
+
+    @Test
+    void countFacets_ShouldOnlyCountBooksMatchingTheSpecification() {
+        BookFacetsDTO facets = bookRepository.countFacets(BookSpecifications.hasSubGenre(SubGenre.SPACE_OPERA));
+
+        assertFacet(facets.getSubGenre(), "SPACE_OPERA=3");
+        assertFacet(facets.getReadStatus(), "COMPLETED=1", "TO_READ=1");
+        assertFacet(facets.getLanguage(), "English=2");
+        assertFacet(facets.getDecade(), "1960s=2", "1980s=1");
+    }
+
+    @Test
+    void countFacets_WithNoMatchingBooks_ShouldReturnEmptyFacets() {
+        BookFacetsDTO facets = bookRepository.countFacets(BookSpecifications.hasSubGenre(SubGenre.STEAMPUNK));
+
+        assertTrue(facets.getSubGenre().isEmpty());
+        assertTrue(facets.getReadStatus().isEmpty());
+        assertTrue(facets.getLanguage().isEmpty());
+        assertTrue(facets.getDecade().isEmpty());
+    }
+
+    // Compares "value=count" entries in the order the facet lists them
+    private static void assertFacet(Map<String, Long> facet, String... expected) {
+        assertEquals(List.of(expected), facet.entrySet().stream().map(Object::toString).toList());
+    }
+
+    private void persist(String title, Integer year, SubGenre subGenre, ReadStatus readStatus, String language) {
+        entityManager.persist(Book.builder()
+                .title(title)
+                .publishedDate(year != null ? LocalDate.of(year, 6, 1) : null)
+                .subGenre(subGenre)
+                .readStatus(readStatus)
+                .language(language)
+                .build());
+    }
+}
@@ -0,0 +1,88 @@
+package com.sfcollection.repository;
+
+import com.sfcollection.model.Book;
+import com.sfcollection.model.SubGenre;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.orm.jdbc.bind=WARN",
+        "logging.level.org.hibernate.stat=WARN"
+})
+class BookInsertBenchmarkTest {
+
+    private static final int BOOKS = 20_000;
+    private static final int CHUNK = 1_000;
+    private static final int ROUNDS = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void compareInsertPaths() {
+        run("JPA saveAll + flush", chunk -> {
+            bookRepository.saveAll(chunk);
+            entityManager.flush();
+            entityManager.clear();
+        });
+        run("JDBC batch (import)", chunk -> bookRepository.insertBooks(chunk));
+    }
+
+    private void run(String name, Consumer<List<Book>> insert) {
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = bookRepository.count();
+            statistics.clear();
+            long start = System.nanoTime();
+            for (int offset = 0; offset < BOOKS; offset += CHUNK) {
+                insert.accept(books(name + round, offset));
+            }
+            long elapsed = System.nanoTime() - start;
+            long statements = statistics.getPrepareStatementCount();
+
+            assertEquals(before + BOOKS, bookRepository.count());
+            System.out.printf("%-22s round %d: %,d books in %d ms (%,.0f books/s, %,d Hibernate statements)%n",
+                    name, round + 1, BOOKS, elapsed / 1_000_000, BOOKS / (elapsed / 1e9), statements);
+        }
+    }
+
+    private static List<Book> books(String isbnPrefix, int offset) {
+        List<Book> books = new ArrayList<>(CHUNK);
+        for (int i = offset; i < offset + CHUNK; i++) {
+            books.add(Book.builder()
+                    .title("Benchmark book " + i)
+                    .isbn(isbnPrefix + "-" + i)
+                    .subGenre(SubGenre.values()[i % SubGenre.values().length])
+                    .language("English")
+                    .build());
+        }
+        return books;
+    }
+}
@@ -0,0 +1,132 @@
+package com.sfcollection.repository;
+
+import com.sfcollection.dto.BookDTO;
+import com.sfcollection.dto.CollectionDTO;
+import com.sfcollection.mapper.AuthorMapperImpl;
+import com.sfcollection.mapper.AuthorReferenceResolver;
+import com.sfcollection.mapper.BookMapper;
+import com.sfcollection.mapper.BookMapperImpl;
+import com.sfcollection.mapper.CollectionMapperImpl;
+import com.sfcollection.mapper.SummaryLoader;
+import com.sfcollection.model.Author;
+import com.sfcollection.model.Book;
+import com.sfcollection.model.Collection;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({BookMapperImpl.class, AuthorMapperImpl.class, CollectionMapperImpl.class, AuthorReferenceResolver.class,
+        SummaryLoader.class})
+class BookPageQueryCountTest {
+
+    // Page select, count, then one batch each for authors and collections
+    private static final long MAX_STATEMENTS_PER_PAGE = 4;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CollectionRepository collectionRepository;
+
+    @Autowired
+    private BookMapper bookMapper;
+
+    @Autowired
+    private SummaryLoader summaryLoader;
+
+    private Statistics statistics;
+
+    private List<Long> collectionIds;
+
+    @BeforeEach
+    void setUp() {
+        List<Author> authors = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            authors.add(entityManager.persist(Author.builder().name("Author " + i).build()));
+        }
+        List<Collection> collections = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            collections.add(entityManager.persist(Collection.builder().name("Collection " + i).build()));
+        }
+
+        for (int i = 0; i < 30; i++) {
+            Book book = entityManager.persist(Book.builder().title("Book " + i).build());
+            authors.get(i % authors.size()).getBooks().add(book);
+            authors.get((i + 1) % authors.size()).getBooks().add(book);
+            collections.get(i % collections.size()).getBooks().add(book);
+        }
+        entityManager.flush();
+        assertEquals(3, collectionRepository.repairBookCounts());
+        entityManager.clear();
+        collectionIds = collections.stream().map(Collection::getId).toList();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void mappingPage_ShouldUseFixedNumberOfStatements() {
+        Page<BookDTO> page = bookMapper.toDtoPage(bookRepository.findAll(PageRequest.of(0, 10, Sort.by("id"))));
+
+        assertEquals(10, page.getNumberOfElements());
+        assertEquals(30, page.getTotalElements());
+        page.forEach(book -> {
+            assertEquals(2, book.getAuthors().size());
+            assertEquals(1, book.getCollections().size());
+            assertEquals(10, book.getCollections().iterator().next().getBookCount());
+        });
+        assertTrue(statistics.getPrepareStatementCount() <= MAX_STATEMENTS_PER_PAGE,
+                "Expected at most " + MAX_STATEMENTS_PER_PAGE + " statements but got " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void mappingLargerPage_ShouldNotIssueMoreStatements() {
+        bookMapper.toDtoPage(bookRepository.findAll(PageRequest.of(0, 10, Sort.by("id"))));
+        long smallPage = statistics.getPrepareStatementCount();
+
+        entityManager.clear();
+        statistics.clear();
+        bookMapper.toDtoPage(bookRepository.findAll(PageRequest.of(0, 25, Sort.by("id"))));
+
+        assertEquals(smallPage, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void mappingPage_ShouldOnlyHydrateTheBooks() {
+        bookMapper.toDtoPage(bookRepository.findAll(PageRequest.of(0, 10, Sort.by("id"))));
+
+        assertEquals(10, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionLoadCount());
+    }
+
+    @Test
+    void loadingBooksOfCollections_ShouldUseOneStatementWithoutEntities() {
+        List<CollectionDTO> collections = collectionIds.stream()
+                .map(id -> CollectionDTO.builder().id(id).build())
+                .toList();
+
+        summaryLoader.loadBooksOfCollections(collections);
+
+        collections.forEach(collection -> assertEquals(10, collection.getBooks().size()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
@@ -0,0 +1,52 @@
+package com.sfcollection.repository;
+
+import com.sfcollection.model.Book;
+import com.sfcollection.model.Collection;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class CollectionRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CollectionRepository collectionRepository;
+
+    @Test
+    void insertBookLinks_ShouldWriteJoinRowsAndSkipExisting() {
+        Collection collection = entityManager.persist(Collection.builder().name("Classics").build());
+        Book dune = entityManager.persist(Book.builder().title("Dune").build());
+        Book hyperion = entityManager.persist(Book.builder().title("Hyperion").build());
+        collection.getBooks().add(dune);
+        entityManager.flush();
+        entityManager.clear();
+
+        collectionRepository.insertBookLinks(collection.getId(), List.of(dune.getId(), hyperion.getId()));
+        collectionRepository.refreshBookCount(collection.getId());
+
+        assertEquals(Set.of(dune.getId(), hyperion.getId()),
+                collectionRepository.findLinkedBookIds(collection.getId(), List.of(dune.getId(), hyperion.getId(), -1L)));
+        assertEquals(2, collectionRepository.findById(collection.getId()).orElseThrow().getBookCount());
+    }
+
+    @Test
+    void insertAndDeleteBookLink_ShouldReportWhetherRowChanged() {
+        Collection collection = entityManager.persist(Collection.builder().name("Classics").build());
+        Book dune = entityManager.persist(Book.builder().title("Dune").build());
+        entityManager.flush();
+
+        assertTrue(collectionRepository.insertBookLink(collection.getId(), dune.getId()));
+        assertFalse(collectionRepository.insertBookLink(collection.getId(), dune.getId()));
+        assertTrue(collectionRepository.deleteBookLink(collection.getId(), dune.getId()));
+        assertFalse(collectionRepository.deleteBookLink(collection.getId(), dune.getId()));
+    }
+}
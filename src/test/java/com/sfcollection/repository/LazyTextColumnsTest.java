@@ -0,0 +1,105 @@
+package com.sfcollection.repository;
+
+import com.sfcollection.dto.BookCursor;
+import com.sfcollection.model.Author;
+import com.sfcollection.model.Book;
+import com.sfcollection.model.Collection;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class LazyTextColumnsTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    private Statistics statistics;
+
+    private Long collectionId;
+
+    @BeforeEach
+    void setUp() {
+        Author author = entityManager.persist(Author.builder().name("Frank Herbert").biography("Born in Tacoma").build());
+        Collection collection = entityManager.persist(Collection.builder().name("Dune Saga").build());
+        for (int i = 0; i < 3; i++) {
+            Book book = entityManager.persist(Book.builder().title("Dune " + i).description("Arrakis " + i).build());
+            author.getBooks().add(book);
+            collection.getBooks().add(book);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        collectionId = collection.getId();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void bookPage_ShouldReadDescriptionsInTheSameSelect() {
+        List<Book> books = bookRepository.findAll(PageRequest.of(0, 10, Sort.by("id"))).getContent();
+        long statements = statistics.getPrepareStatementCount();
+
+        books.forEach(book -> assertTrue(book.getDescription().startsWith("Arrakis")));
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void customBookQueries_ShouldReadDescriptionsInTheSameSelect() {
+        Specification<Book> all = (book, query, cb) -> null;
+        List<Book> slice = bookRepository.findSlice(all, PageRequest.of(0, 10, Sort.by("id"))).getContent();
+        List<Book> keyset = bookRepository.findAfter(all, BookCursor.decode(null, Sort.by("title")), 10).getContent();
+
+        assertFalse(slice.isEmpty());
+        assertFalse(keyset.isEmpty());
+        slice.forEach(book -> assertTrue(Hibernate.isPropertyInitialized(book, "description")));
+        keyset.forEach(book -> assertTrue(Hibernate.isPropertyInitialized(book, "description")));
+    }
+
+    @Test
+    void authorsOfABook_ShouldNotReadBiography() {
+        Book book = bookRepository.findAll(PageRequest.of(0, 1)).getContent().get(0);
+
+        Author author = book.getAuthors().iterator().next();
+
+        assertFalse(Hibernate.isPropertyInitialized(author, "biography"));
+        assertEquals("Frank Herbert", author.getName());
+    }
+
+    @Test
+    void authorPage_ShouldReadBiography() {
+        Author author = authorRepository.findAll(PageRequest.of(0, 10)).getContent().get(0);
+
+        assertTrue(Hibernate.isPropertyInitialized(author, "biography"));
+        assertEquals("Born in Tacoma", author.getBiography());
+    }
+
+    @Test
+    void booksOfACollection_ShouldNotReadDescriptionUntilAccessed() {
+        Collection collection = entityManager.find(Collection.class, collectionId);
+
+        Book book = collection.getBooks().iterator().next();
+
+        assertFalse(Hibernate.isPropertyInitialized(book, "description"));
+        assertTrue(book.getDescription().startsWith("Arrakis"));
+    }
+}
@@ -0,0 +1,185 @@
+package com.sfcollection.repository;
+
+import com.sfcollection.config.SecondLevelCacheConfig;
+import com.sfcollection.model.Author;
+import com.sfcollection.model.Book;
+import com.sfcollection.model.Collection;
+import com.sfcollection.model.Role;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Entities inserted by the current transaction are never cached, so each step here commits on its own
+@DataJpaTest
+@Import(SecondLevelCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CollectionRepository collectionRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transaction;
+
+    private Statistics statistics;
+
+    private Cache cache;
+
+    private Long authorId;
+
+    private Long bookId;
+
+    private Long collectionId;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            Book book = bookRepository.save(Book.builder().title("The Dispossessed").build());
+            Author author = Author.builder().name("Ursula K. Le Guin").biography("Born in Berkeley").build();
+            author.getBooks().add(book);
+            Collection collection = Collection.builder().name("Hainish Cycle").bookCount(1).build();
+            collection.getBooks().add(book);
+            authorId = authorRepository.save(author).getId();
+            collectionId = collectionRepository.save(collection).getId();
+            bookId = book.getId();
+            roleRepository.save(Role.builder().name(Role.RoleName.ROLE_USER).build());
+        });
+
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        cache = sessionFactory.getCache();
+        cache.evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM book_author");
+        jdbcTemplate.update("DELETE FROM collection_book");
+        jdbcTemplate.update("DELETE FROM books");
+        jdbcTemplate.update("DELETE FROM authors");
+        jdbcTemplate.update("DELETE FROM collections");
+        jdbcTemplate.update("DELETE FROM roles");
+        cache.evictAllRegions();
+    }
+
+    @Test
+    void authorById_ShouldBeReadFromTheCacheAfterTheFirstLoad() {
+        authorRepository.findById(authorId).orElseThrow();
+        long statements = statistics.getPrepareStatementCount();
+
+        Author author = authorRepository.findById(authorId).orElseThrow();
+
+        assertEquals("Born in Berkeley", author.getBiography());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("authors").getHitCount());
+    }
+
+    @Test
+    void authorsOfABook_ShouldBeReadFromTheCacheAfterTheFirstLoad() {
+        transaction.executeWithoutResult(status -> bookRepository.findById(bookId).orElseThrow().getAuthors().size());
+
+        transaction.executeWithoutResult(status -> {
+            Book book = bookRepository.findById(bookId).orElseThrow();
+            long statements = statistics.getPrepareStatementCount();
+
+            assertEquals("Ursula K. Le Guin", book.getAuthors().iterator().next().getName());
+            assertEquals(statements, statistics.getPrepareStatementCount());
+        });
+    }
+
+    @Test
+    void roleByName_ShouldBeAnsweredByTheQueryCache() {
+        roleRepository.findByName(Role.RoleName.ROLE_USER).orElseThrow();
+        long statements = statistics.getPrepareStatementCount();
+
+        roleRepository.findByName(Role.RoleName.ROLE_USER).orElseThrow();
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void linkWrites_ShouldEvictTheCachedLinksOfTheBook() {
+        Long secondAuthorId = authorRepository.save(Author.builder().name("Second Author").build()).getId();
+        transaction.executeWithoutResult(status -> {
+            Book book = bookRepository.findById(bookId).orElseThrow();
+            book.getAuthors().size();
+            book.getCollections().size();
+        });
+        assertTrue(cache.containsCollection(BookLinkCache.AUTHORS, bookId));
+        assertTrue(cache.containsCollection(BookLinkCache.COLLECTIONS, bookId));
+
+        transaction.executeWithoutResult(status -> {
+            assertTrue(authorRepository.insertBookLink(secondAuthorId, bookId));
+            assertTrue(collectionRepository.deleteBookLink(collectionId, bookId));
+        });
+
+        assertFalse(cache.containsCollection(BookLinkCache.AUTHORS, bookId));
+        assertFalse(cache.containsCollection(BookLinkCache.COLLECTIONS, bookId));
+        transaction.executeWithoutResult(status -> {
+            Book book = bookRepository.findById(bookId).orElseThrow();
+            assertEquals(2, book.getAuthors().size());
+            assertTrue(book.getCollections().isEmpty());
+        });
+    }
+
+    @Test
+    void evictingCachedLinks_ShouldOnlyTouchTheGivenBooks() {
+        Long otherId = bookRepository.save(Book.builder().title("The Left Hand of Darkness").build()).getId();
+        transaction.executeWithoutResult(status -> bookRepository.findAllById(List.of(bookId, otherId))
+                .forEach(book -> book.getAuthors().size()));
+
+        authorRepository.evictCachedAuthorsOfBooks(List.of(bookId));
+
+        assertFalse(cache.containsCollection(BookLinkCache.AUTHORS, bookId));
+        assertTrue(cache.containsCollection(BookLinkCache.AUTHORS, otherId));
+    }
+
+    @Test
+    void bookCountRefresh_ShouldOnlyEvictCollections() {
+        authorRepository.findById(authorId).orElseThrow();
+        collectionRepository.findById(collectionId).orElseThrow();
+        jdbcTemplate.update("DELETE FROM collection_book");
+
+        transaction.executeWithoutResult(status -> collectionRepository.refreshBookCount(collectionId));
+
+        assertTrue(cache.containsEntity(Author.class, authorId));
+        assertFalse(cache.containsEntity(Collection.class, collectionId));
+        assertEquals(0, collectionRepository.findById(collectionId).orElseThrow().getBookCount());
+    }
+}
@@ -0,0 +1,77 @@
+package com.sfcollection.search;
+
+import com.sfcollection.model.ReadStatus;
+import com.sfcollection.model.SubGenre;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookBitmapIndexTest {
+
+    private BookBitmapIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookBitmapIndex();
+        index.index(document(1L, SubGenre.SPACE_OPERA, ReadStatus.COMPLETED, "English", 1965));
+        index.index(document(2L, SubGenre.CYBERPUNK, ReadStatus.COMPLETED, "English", 1984));
+        index.index(document(3L, SubGenre.CYBERPUNK, ReadStatus.TO_READ, "English", 1992));
+        index.index(document(4L, SubGenre.CYBERPUNK, ReadStatus.READING, "Japanese", 1987));
+        index.index(document(5L, SubGenre.DYSTOPIAN, null, null, 1949));
+    }
+
+    @Test
+    void search_ShouldCombineAndOrNot() {
+        assertEquals(List.of(2L, 4L), ids("subGenre:CYBERPUNK AND decade:1980s"));
+        assertEquals(List.of(1L, 3L, 4L), ids("subGenre:SPACE_OPERA OR (subGenre:CYBERPUNK AND NOT readStatus:COMPLETED)"));
+        assertEquals(List.of(4L, 5L), ids("NOT language:english"));
+    }
+
+    @Test
+    void search_ShouldPageInIdOrderWithExactTotal() {
+        SearchHits ascending = index.search(BookFilterParser.parse("NOT subGenre:DYSTOPIAN"), 1, 2, false);
+        SearchHits descending = index.search(BookFilterParser.parse("NOT subGenre:DYSTOPIAN"), 1, 2, true);
+
+        assertEquals(4, ascending.total());
+        assertEquals(List.of(2L, 3L), ascending.ids());
+        assertEquals(List.of(3L, 2L), descending.ids());
+        assertTrue(index.search(BookFilterParser.parse("year:1984"), 5, 2, false).ids().isEmpty());
+    }
+
+    @Test
+    void index_ShouldMoveBookBetweenBitmapsOnUpdate() {
+        index.index(document(3L, SubGenre.CYBERPUNK, ReadStatus.COMPLETED, "English", 1992));
+
+        assertEquals(List.of(1L, 2L, 3L), ids("readStatus:COMPLETED"));
+        assertTrue(ids("readStatus:TO_READ").isEmpty());
+    }
+
+    @Test
+    void remove_ShouldDropBookFromEveryBitmap() {
+        index.remove(4L);
+
+        assertEquals(List.of(2L, 3L), ids("subGenre:CYBERPUNK"));
+        assertEquals(List.of(5L), ids("NOT language:English"));
+    }
+
+    @Test
+    void search_ShouldNotModifyIndexedBitmaps() {
+        ids("subGenre:CYBERPUNK AND year:1984");
+        ids("NOT subGenre:CYBERPUNK");
+
+        assertEquals(List.of(2L, 3L, 4L), ids("subGenre:CYBERPUNK"));
+    }
+
+    private List<Long> ids(String filter) {
+        return index.search(BookFilterParser.parse(filter), 0, 100, false).ids();
+    }
+
+    private static BookDocument document(Long id, SubGenre subGenre, ReadStatus readStatus, String language, int year) {
+        return new BookDocument(id, "Book " + id, null, null, language, subGenre, readStatus,
+                LocalDate.of(year, 1, 1), List.of());
+    }
+}
@@ -0,0 +1,52 @@
+package com.sfcollection.search;
+
+import com.sfcollection.model.ReadStatus;
+import com.sfcollection.model.SubGenre;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookFilterParserTest {
+
+    @Test
+    void parse_ShouldApplyPrecedenceNotThenAndThenOr() {
+        BookFilter filter = BookFilterParser.parse("subGenre:cyberpunk OR readStatus:READING AND NOT language:English");
+
+        assertEquals(new BookFilter.Or(List.of(
+                new BookFilter.SubGenreIs(SubGenre.CYBERPUNK),
+                new BookFilter.And(List.of(
+                        new BookFilter.ReadStatusIs(ReadStatus.READING),
+                        new BookFilter.Not(new BookFilter.LanguageIs("English")))))), filter);
+    }
+
+    @Test
+    void parse_ShouldHonourParenthesesAndQuotes() {
+        BookFilter filter = BookFilterParser.parse("(decade:1980s or year:1999..2001) and language:\"Brazilian Portuguese\"");
+
+        assertEquals(new BookFilter.And(List.of(
+                new BookFilter.Or(List.of(
+                        new BookFilter.PublishedBetween(1980, 1989),
+                        new BookFilter.PublishedBetween(1999, 2001))),
+                new BookFilter.LanguageIs("Brazilian Portuguese"))), filter);
+    }
+
+    @Test
+    void parse_WithSingleYear_ShouldCoverThatYear() {
+        assertEquals(new BookFilter.PublishedBetween(1984, 1984), BookFilterParser.parse("year:1984"));
+    }
+
+    @Test
+    void parse_WithInvalidExpression_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> BookFilterParser.parse(""));
+        assertThrows(IllegalArgumentException.class, () -> BookFilterParser.parse("subGenre:ELVES"));
+        assertThrows(IllegalArgumentException.class, () -> BookFilterParser.parse("publisher:Ace"));
+        assertThrows(IllegalArgumentException.class, () -> BookFilterParser.parse("(subGenre:CYBERPUNK"));
+        assertThrows(IllegalArgumentException.class, () -> BookFilterParser.parse("subGenre:CYBERPUNK AND"));
+        assertThrows(IllegalArgumentException.class, () -> BookFilterParser.parse("subGenre:CYBERPUNK language:English"));
+        assertThrows(IllegalArgumentException.class, () -> BookFilterParser.parse("year:1990..1980"));
+        assertThrows(IllegalArgumentException.class, () -> BookFilterParser.parse("language:\"English"));
+        assertThrows(IllegalArgumentException.class, () -> BookFilterParser.parse("NOT ".repeat(100) + "year:1984"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.sfcollection.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookSearchIndexTest {
+
+    private BookSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookSearchIndex();
+        index.index(document(1L, "Dune", "Desert planet Arrakis and the spice melange", "Chilton Books", "Frank Herbert"));
+        index.index(document(2L, "Dune Messiah", "Paul Atreides rules as emperor", "Putnam", "Frank Herbert"));
+        index.index(document(3L, "Hyperion", "Pilgrims travel to the Time Tombs", "Doubleday", "Dan Simmons"));
+        index.index(document(4L, "Solaris", "A sentient ocean on a distant planet", "Walker", "Stanisław Lem"));
+    }
+
+    @Test
+    void search_ShouldRankTitleMatchesAboveDescriptionMatches() {
+        index.index(document(5L, "Planet of Exile", "Stranded colonists endure a long winter", "Ace", "Ursula K. Le Guin"));
+
+        SearchHits hits = index.search("planet", 0, 10);
+
+        assertEquals(3, hits.total());
+        assertEquals(5L, hits.ids().get(0));
+        assertTrue(hits.ids().containsAll(List.of(1L, 4L)));
+    }
+
+    @Test
+    void search_ShouldMatchAuthorNamesWithoutAccents() {
+        SearchHits hits = index.search("stanislaw lem", 0, 10);
+
+        assertEquals(List.of(4L), hits.ids());
+    }
+
+    @Test
+    void search_ShouldTreatLastTermAsPrefix() {
+        SearchHits hits = index.search("hyper", 0, 10);
+
+        assertEquals(List.of(3L), hits.ids());
+    }
+
+    @Test
+    void search_ShouldPreferDocumentsMatchingMoreTerms() {
+        SearchHits hits = index.search("dune messiah", 0, 10);
+
+        assertEquals(List.of(2L, 1L), hits.ids());
+    }
+
+    @Test
+    void search_ShouldPageThroughRankedHits() {
+        SearchHits firstPage = index.search("herbert", 0, 1);
+        SearchHits secondPage = index.search("herbert", 1, 1);
+
+        assertEquals(2, firstPage.total());
+        assertEquals(1, firstPage.ids().size());
+        assertEquals(1, secondPage.ids().size());
+        assertNotEquals(firstPage.ids(), secondPage.ids());
+    }
+
+    @Test
+    void index_ShouldReplacePreviousVersionOfDocument() {
+        index.index(document(3L, "The Fall of Hyperion", "Sequel", "Doubleday", "Dan Simmons"));
+
+        assertEquals(List.of(3L), index.search("fall", 0, 10).ids());
+        assertTrue(index.search("pilgrims", 0, 10).ids().isEmpty());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void remove_ShouldDropDocumentFromResults() {
+        index.remove(1L);
+
+        assertEquals(List.of(2L), index.search("dune", 0, 10).ids());
+        assertEquals(3, index.size());
+    }
+
+    private static BookDocument document(Long id, String title, String description, String publisher, String author) {
+        return new BookDocument(id, title, description, publisher, "English", null, null, null, List.of(author));
+    }
+}
@@ -0,0 +1,74 @@
+package com.sfcollection.search;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+class RadixTrieBenchmarkTest {
+
+    private static final int LABELS = 100_000;
+    private static final int QUERIES = 20_000;
+
+    @Test
+    void completionLatencyShouldStayUnderOneMillisecondAtP99() {
+        Random random = new Random(7);
+        List<String> vocabulary = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            vocabulary.add(word(random, 3 + random.nextInt(8)));
+        }
+
+        RadixTrie trie = new RadixTrie();
+        List<String> labels = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < LABELS; i++) {
+            int words = 1 + random.nextInt(5);
+            StringBuilder label = new StringBuilder();
+            for (int w = 0; w < words; w++) {
+                label.append(w == 0 ? "" : " ").append(vocabulary.get(random.nextInt(vocabulary.size())));
+            }
+            labels.add(label.toString());
+            trie.put((long) i, label.toString());
+        }
+        System.out.printf("Built trie of %d labels in %d ms%n", LABELS, (System.nanoTime() - start) / 1_000_000);
+
+        // Prefixes as typed: 1 to 6 leading characters of an existing label
+        List<String> prefixes = new ArrayList<>();
+        for (int i = 0; i < QUERIES; i++) {
+            String label = labels.get(random.nextInt(LABELS));
+            prefixes.add(label.substring(0, Math.min(label.length(), 1 + random.nextInt(6))));
+        }
+
+        prefixes.forEach(prefix -> trie.complete(prefix, 10));
+
+        long[] latencies = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long begin = System.nanoTime();
+            trie.complete(prefixes.get(i), 10);
+            latencies[i] = System.nanoTime() - begin;
+        }
+        Arrays.sort(latencies);
+
+        double p50 = latencies[QUERIES / 2] / 1_000.0;
+        double p99 = latencies[QUERIES * 99 / 100] / 1_000.0;
+        System.out.printf(Locale.ROOT, "complete(prefix, 10): p50 %.1f us, p99 %.1f us%n", p50, p99);
+
+        assertTrue(p99 < 1_000);
+    }
+
+    private static String word(Random random, int length) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,82 @@
+package com.sfcollection.search;
+
+import com.sfcollection.dto.SuggestionDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RadixTrieTest {
+
+    private RadixTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new RadixTrie();
+        trie.put(1L, "Dune");
+        trie.put(2L, "Dune Messiah");
+        trie.put(3L, "Children of Dune");
+        trie.put(4L, "Dhalgren");
+        trie.put(5L, "Solaris");
+    }
+
+    @Test
+    void complete_ShouldReturnLabelsInKeyOrder() {
+        assertEquals(List.of(new SuggestionDTO(1L, "Dune"), new SuggestionDTO(2L, "Dune Messiah"),
+                new SuggestionDTO(3L, "Children of Dune")), trie.complete("dun", 10));
+    }
+
+    @Test
+    void complete_ShouldMatchAnyWordAndIgnoreCaseAndAccents() {
+        trie.put(6L, "Stanisław Lém");
+
+        assertEquals(List.of(6L), ids(trie.complete("LEM", 10)));
+        assertEquals(List.of(2L), ids(trie.complete("mess", 10)));
+        assertEquals(List.of(3L), ids(trie.complete("children of d", 10)));
+    }
+
+    @Test
+    void complete_ShouldStopAtLimitWithoutDuplicates() {
+        trie.put(7L, "Dune Dune");
+
+        List<SuggestionDTO> suggestions = trie.complete("d", 3);
+
+        assertEquals(3, suggestions.size());
+        assertEquals(3, suggestions.stream().map(SuggestionDTO::getId).distinct().count());
+    }
+
+    @Test
+    void complete_WithUnknownOrBlankPrefix_ShouldReturnNothing() {
+        assertTrue(trie.complete("dx", 10).isEmpty());
+        assertTrue(trie.complete("dune messiahs", 10).isEmpty());
+        assertTrue(trie.complete("  ", 10).isEmpty());
+    }
+
+    @Test
+    void put_ShouldReplacePreviousLabel() {
+        trie.put(5L, "Solaris (Revised)");
+        trie.put(4L, "Nova");
+
+        assertEquals(List.of(new SuggestionDTO(5L, "Solaris (Revised)")), trie.complete("revised", 10));
+        assertEquals(List.of(1L, 2L, 3L), ids(trie.complete("d", 10)));
+        assertEquals(5, trie.size());
+    }
+
+    @Test
+    void remove_ShouldKeepRemainingKeysReachable() {
+        // Removing "Dune" leaves "dune" as a pass-through node that must be merged with "dune messiah"
+        trie.remove(1L);
+        trie.remove(5L);
+
+        assertEquals(List.of(2L, 3L), ids(trie.complete("dune", 10)));
+        assertEquals(List.of(2L), ids(trie.complete("dune m", 10)));
+        assertTrue(trie.complete("sol", 10).isEmpty());
+        assertEquals(3, trie.size());
+    }
+
+    private static List<Long> ids(List<SuggestionDTO> suggestions) {
+        return suggestions.stream().map(SuggestionDTO::getId).toList();
+    }
+}
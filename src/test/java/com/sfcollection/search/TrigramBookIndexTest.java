@@ -0,0 +1,85 @@
+package com.sfcollection.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrigramBookIndexTest {
+
+    private static final double THRESHOLD = 0.3;
+
+    private TrigramBookIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramBookIndex();
+        index.index(document(1L, "Dune", "Frank Herbert"));
+        index.index(document(2L, "Dune Messiah", "Frank Herbert"));
+        index.index(document(3L, "Foundation", "Isaac Asimov"));
+        index.index(document(4L, "I, Robot", "Isaac Asimov"));
+        index.index(document(5L, "Hyperion", "Dan Simmons"));
+    }
+
+    @Test
+    void similarity_ShouldMatchPgTrgm() {
+        // SELECT similarity('word', 'two words') = 0.36363637
+        assertEquals(4.0 / 11, Trigrams.similarity(Trigrams.of("word"), Trigrams.of("two words")), 1e-6);
+        assertEquals(Set.of("  d", " du", "dun", "une", "ne "), Trigrams.of("Dune"));
+    }
+
+    @Test
+    void search_ShouldFindMisspelledTitle() {
+        SearchHits hits = index.search("dune mesiah", THRESHOLD, 0, 10);
+
+        assertEquals(2L, hits.ids().get(0));
+    }
+
+    @Test
+    void search_ShouldMatchMisspelledSurnameWithinFullAuthorName() {
+        SearchHits hits = index.search("asimv", THRESHOLD, 0, 10);
+
+        assertEquals(Set.of(3L, 4L), Set.copyOf(hits.ids()));
+    }
+
+    @Test
+    void search_ShouldRankCloserMatchesFirst() {
+        SearchHits hits = index.search("hyperon", THRESHOLD, 0, 10);
+
+        assertEquals(List.of(5L), hits.ids());
+    }
+
+    @Test
+    void search_ShouldRespectThreshold() {
+        assertFalse(index.search("foundatoin", THRESHOLD, 0, 10).ids().isEmpty());
+        assertTrue(index.search("foundatoin", 0.9, 0, 10).ids().isEmpty());
+    }
+
+    @Test
+    void search_WithNoWords_ShouldReturnNothing() {
+        assertEquals(0, index.search(" -- ", THRESHOLD, 0, 10).total());
+    }
+
+    @Test
+    void remove_ShouldDropBookFromResults() {
+        index.remove(5L);
+
+        assertTrue(index.search("hyperion", THRESHOLD, 0, 10).ids().isEmpty());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void index_ShouldReplacePreviousVersionOfBook() {
+        index.index(document(5L, "The Fall of Hyperion", "Dan Simmons"));
+
+        assertEquals(List.of(5L), index.search("fal of hyperion", THRESHOLD, 0, 10).ids());
+        assertEquals(5, index.size());
+    }
+
+    static BookDocument document(Long id, String title, String author) {
+        return new BookDocument(id, title, null, null, null, null, null, null, List.of(author));
+    }
+}
@@ -0,0 +1,136 @@
+package com.sfcollection.search;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Run with: mvn test -Pbenchmark
+@Tag("benchmark")
+class TrigramSearchBenchmarkTest {
+
+    private static final int BOOKS = 50_000;
+    private static final int QUERIES = 500;
+    private static final double THRESHOLD = 0.3;
+
+    private static final List<String> titles = new ArrayList<>();
+    private static final List<Set<String>> titleTrigrams = new ArrayList<>();
+    private static final List<String> queries = new ArrayList<>();
+    private static final List<Long> expected = new ArrayList<>();
+    private static final TrigramBookIndex index = new TrigramBookIndex();
+
+    @BeforeAll
+    static void buildCorpus() {
+        Random random = new Random(42);
+        List<String> vocabulary = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            vocabulary.add(word(random, 4 + random.nextInt(6)));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < BOOKS; i++) {
+            int words = 1 + random.nextInt(4);
+            List<String> title = new ArrayList<>();
+            for (int w = 0; w < words; w++) {
+                title.add(vocabulary.get(random.nextInt(vocabulary.size())));
+            }
+            String author = vocabulary.get(random.nextInt(vocabulary.size())) + " "
+                    + vocabulary.get(random.nextInt(vocabulary.size()));
+
+            titles.add(String.join(" ", title));
+            titleTrigrams.add(Trigrams.of(titles.get(i)));
+            index.index(new BookDocument((long) i, titles.get(i), null, null, null, null, null, null, List.of(author)));
+        }
+        System.out.printf("Indexed %d books in %d ms%n", BOOKS, (System.nanoTime() - start) / 1_000_000);
+
+        for (int i = 0; i < QUERIES; i++) {
+            int bookId = random.nextInt(BOOKS);
+            queries.add(misspell(random, titles.get(bookId)));
+            expected.add((long) bookId);
+        }
+    }
+
+    @Test
+    void compareSubstringScanTrigramScanAndTrigramIndex() {
+        Result substring = run("substring scan (LIKE '%q%')", query -> {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < titles.size(); i++) {
+                if (titles.get(i).contains(query)) {
+                    ids.add((long) i);
+                }
+            }
+            return ids;
+        });
+
+        Result scan = run("trigram similarity scan", query -> {
+            Set<String> queryTrigrams = Trigrams.of(query);
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < titleTrigrams.size(); i++) {
+                if (Trigrams.similarity(queryTrigrams, titleTrigrams.get(i)) >= THRESHOLD) {
+                    ids.add((long) i);
+                }
+            }
+            return ids;
+        });
+
+        Result indexed = run("trigram index", query -> index.search(query, THRESHOLD, 0, 10).ids());
+
+        assertTrue(indexed.recall() > substring.recall());
+        assertTrue(indexed.recall() >= 0.9);
+        assertTrue(indexed.micros() < scan.micros());
+    }
+
+    private static Result run(String name, Function<String, List<Long>> search) {
+        // Warm up the JIT before timing
+        queries.forEach(search::apply);
+
+        int found = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            if (search.apply(queries.get(i)).contains(expected.get(i))) {
+                found++;
+            }
+        }
+        Result result = new Result((System.nanoTime() - start) / 1_000.0 / QUERIES, (double) found / QUERIES);
+        System.out.printf(Locale.ROOT, "%-30s %10.1f us/query   recall %.3f%n", name, result.micros(), result.recall());
+        return result;
+    }
+
+    private static String word(Random random, int length) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+
+    // One dropped, swapped or substituted letter, the typical typo
+    private static String misspell(Random random, String title) {
+        StringBuilder typo = new StringBuilder(title);
+        int position = 1 + random.nextInt(typo.length() - 2);
+        while (typo.charAt(position) == ' ' || typo.charAt(position + 1) == ' ') {
+            position = 1 + random.nextInt(typo.length() - 2);
+        }
+        switch (random.nextInt(3)) {
+            case 0 -> typo.deleteCharAt(position);
+            case 1 -> {
+                char swapped = typo.charAt(position);
+                typo.setCharAt(position, typo.charAt(position + 1));
+                typo.setCharAt(position + 1, swapped);
+            }
+            default -> typo.setCharAt(position, (char) ('a' + random.nextInt(26)));
+        }
+        return typo.toString();
+    }
+
+    private record Result(double micros, double recall) {
+    }
+}
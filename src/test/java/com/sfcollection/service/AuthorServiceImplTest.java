@@ -1,22 +1,32 @@
 package com.sfcollection.service;
 
 import com.sfcollection.dto.AuthorDTO;
+import com.sfcollection.event.AuthorChangedEvent;
+import com.sfcollection.event.BookChangedEvent;
 import com.sfcollection.exception.ResourceNotFoundException;
 import com.sfcollection.mapper.AuthorMapper;
+import com.sfcollection.mapper.SummaryLoader;
 import com.sfcollection.model.Author;
 import com.sfcollection.model.Book;
 import com.sfcollection.repository.AuthorRepository;
 import com.sfcollection.repository.BookRepository;
 import com.sfcollection.service.impl.AuthorServiceImpl;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -35,6 +45,15 @@ class AuthorServiceImplTest {
     @Mock
     private AuthorMapper authorMapper;
 
+    @Mock
+    private SummaryLoader summaryLoader;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private AuthorServiceImpl authorService;
 
@@ -91,15 +110,37 @@ class AuthorServiceImplTest {
     void getAuthorById_WithExistingId_ShouldReturnAuthorDTO() {
         // Arrange
         when(authorRepository.findById(1L)).thenReturn(Optional.of(testAuthor));
-        when(authorMapper.toDto(testAuthor)).thenReturn(testAuthorDTO);
+        when(authorMapper.toDtoWithoutBooks(testAuthor)).thenReturn(testAuthorDTO);
 
         // Act
-        AuthorDTO result = authorService.getAuthorById(1L);
+        AuthorDTO result = authorService.getAuthorById(1L, true);
 
         // Assert
         assertNotNull(result);
         assertEquals(testAuthorDTO, result);
         verify(authorRepository, times(1)).findById(1L);
+        verify(summaryLoader, times(1)).loadBooksOfAuthors(List.of(testAuthorDTO));
+        verify(authorMapper, never()).toDto(any());
+    }
+
+    @Test
+    void getAuthors_WithoutBooks_ShouldNotMapNestedBooks() {
+        // Arrange
+        List<Author> authors = Collections.singletonList(testAuthor);
+        when(authorRepository.findById(1L)).thenReturn(Optional.of(testAuthor));
+        when(authorRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(authors));
+        when(authorMapper.toDtoWithoutBooks(testAuthor)).thenReturn(testAuthorDTO);
+
+        // Act
+        AuthorDTO single = authorService.getAuthorById(1L, false);
+        Page<AuthorDTO> all = authorService.getAllAuthors(PageRequest.of(0, 10), false);
+
+        // Assert
+        assertEquals(testAuthorDTO, single);
+        assertEquals(1, all.getNumberOfElements());
+        verify(authorMapper, never()).toDto(any());
+        verify(authorMapper, never()).toDtoList(any());
+        verifyNoInteractions(summaryLoader);
     }
 
     @Test
@@ -109,7 +150,7 @@ class AuthorServiceImplTest {
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> {
-            authorService.getAuthorById(99L);
+            authorService.getAuthorById(99L, true);
         });
         verify(authorRepository, times(1)).findById(99L);
     }
@@ -128,17 +169,35 @@ class AuthorServiceImplTest {
                 .build();
         
         List<Author> authors = Arrays.asList(testAuthor, secondAuthor);
-        List<AuthorDTO> authorDTOs = Arrays.asList(testAuthorDTO, secondAuthorDTO);
-        
-        when(authorRepository.findAll()).thenReturn(authors);
-        when(authorMapper.toDtoList(authors)).thenReturn(authorDTOs);
+        Pageable pageable = PageRequest.of(0, 10);
+        when(authorRepository.findAll(pageable)).thenReturn(new PageImpl<>(authors, pageable, 2));
+        when(authorMapper.toDtoWithoutBooks(testAuthor)).thenReturn(testAuthorDTO);
+        when(authorMapper.toDtoWithoutBooks(secondAuthor)).thenReturn(secondAuthorDTO);
 
         // Act
-        List<AuthorDTO> result = authorService.getAllAuthors();
+        Page<AuthorDTO> result = authorService.getAllAuthors(pageable, true);
 
         // Assert
-        assertEquals(2, result.size());
-        verify(authorRepository, times(1)).findAll();
+        assertEquals(2, result.getNumberOfElements());
+        assertEquals(2, result.getTotalElements());
+        verify(authorRepository, times(1)).findAll(pageable);
+        verify(summaryLoader, times(1)).loadBooksOfAuthors(List.of(testAuthorDTO, secondAuthorDTO));
+    }
+
+    @Test
+    void streamAuthors_ShouldMapAndDetachEachAuthor() {
+        // Arrange
+        when(authorRepository.streamAllByOrderById()).thenReturn(Stream.of(testAuthor));
+        when(authorMapper.toDtoWithoutBooks(testAuthor)).thenReturn(testAuthorDTO);
+        List<AuthorDTO> streamed = new ArrayList<>();
+
+        // Act
+        authorService.streamAuthors(streamed::add);
+
+        // Assert
+        assertEquals(Collections.singletonList(testAuthorDTO), streamed);
+        verify(entityManager, times(1)).detach(testAuthor);
+        verify(authorMapper, never()).toDto(any());
     }
 
     @Test
@@ -148,14 +207,15 @@ class AuthorServiceImplTest {
         List<AuthorDTO> authorDTOs = Collections.singletonList(testAuthorDTO);
         
         when(authorRepository.findByNameContainingIgnoreCase(anyString())).thenReturn(authors);
-        when(authorMapper.toDtoList(authors)).thenReturn(authorDTOs);
+        when(authorMapper.toDtoListWithoutBooks(authors)).thenReturn(authorDTOs);
 
         // Act
-        List<AuthorDTO> result = authorService.searchAuthorsByName("Frank");
+        List<AuthorDTO> result = authorService.searchAuthorsByName("Frank", true);
 
         // Assert
         assertEquals(1, result.size());
         verify(authorRepository, times(1)).findByNameContainingIgnoreCase("Frank");
+        verify(summaryLoader, times(1)).loadBooksOfAuthors(authorDTOs);
     }
 
     @Test
@@ -198,6 +258,22 @@ class AuthorServiceImplTest {
         verify(authorRepository, times(1)).save(any(Author.class));
     }
 
+    @Test
+    void updateAuthor_ShouldPublishChangeForAuthorsBooks() {
+        // Arrange
+        AuthorDTO updateDTO = AuthorDTO.builder().name("Frank Patrick Herbert").build();
+        
+        when(authorRepository.findById(1L)).thenReturn(Optional.of(testAuthor));
+        when(authorRepository.save(any(Author.class))).thenReturn(testAuthor);
+        when(bookRepository.findIdsByAuthorId(1L)).thenReturn(List.of(10L, 11L));
+
+        // Act
+        authorService.updateAuthor(1L, updateDTO);
+
+        // Assert
+        verify(eventPublisher).publishEvent(new BookChangedEvent(Set.of(10L, 11L), false));
+    }
+
     @Test
     void deleteAuthor_WithExistingId_ShouldDeleteAuthor() {
         // Arrange
@@ -210,6 +286,7 @@ class AuthorServiceImplTest {
         // Assert
         verify(authorRepository, times(1)).existsById(1L);
         verify(authorRepository, times(1)).deleteById(1L);
+        verify(eventPublisher).publishEvent(AuthorChangedEvent.deleted(1L));
     }
 
     @Test
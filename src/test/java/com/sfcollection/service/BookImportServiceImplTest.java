@@ -0,0 +1,208 @@
+package com.sfcollection.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sfcollection.cache.IsbnFilter;
+import com.sfcollection.dto.BookImportErrorDTO;
+import com.sfcollection.dto.BookImportResultDTO;
+import com.sfcollection.event.BookChangedEvent;
+import com.sfcollection.mapper.BookMapperImpl;
+import com.sfcollection.model.Author;
+import com.sfcollection.model.Book;
+import com.sfcollection.repository.AuthorRepository;
+import com.sfcollection.repository.BookRepository;
+import com.sfcollection.service.impl.BookImportServiceImpl;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BookImportServiceImplTest {
+
+    private BookRepository bookRepository;
+    private AuthorRepository authorRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private IsbnFilter isbnFilter;
+    private BookImportServiceImpl importService;
+    private final AtomicLong nextBookId = new AtomicLong(100);
+
+    @BeforeEach
+    void setUp() {
+        bookRepository = Mockito.mock(BookRepository.class);
+        authorRepository = Mockito.mock(AuthorRepository.class);
+        eventPublisher = Mockito.mock(ApplicationEventPublisher.class);
+        isbnFilter = new IsbnFilter(bookRepository, 0.01, 1000);
+        importService = new BookImportServiceImpl(bookRepository, authorRepository, new BookMapperImpl(),
+                new ObjectMapper().findAndRegisterModules(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                Mockito.mock(PlatformTransactionManager.class), eventPublisher, isbnFilter);
+
+        when(bookRepository.insertBooks(anyList())).thenAnswer(invocation -> {
+            List<Book> books = invocation.getArgument(0);
+            return books.stream().map(book -> nextBookId.getAndIncrement()).toList();
+        });
+    }
+
+    @Test
+    void importNdjson_ShouldInsertValidRowsAndReportTheRest() {
+        // Arrange
+        when(bookRepository.findExistingIsbns(Set.of("9780441172719", "taken"))).thenReturn(List.of("taken"));
+        when(authorRepository.findExistingIds(Set.of(1L, 9L))).thenReturn(List.of(1L));
+        when(authorRepository.findByNameIn(any())).thenReturn(List.of());
+        when(authorRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Author> authors = invocation.getArgument(0);
+            authors.forEach(author -> author.setId(5L));
+            return authors;
+        });
+        String input = """
+                {"title":"Dune","isbn":"9780441172719","authorIds":[1],"authors":["Brian Herbert"],"publishedDate":"1965-08-01"}
+                {"title":"","isbn":"x"}
+                not json
+
+                {"title":"Taken","isbn":"taken"}
+                {"title":"Unknown author","authorIds":[9]}
+                {"title":"Dune again","isbn":"9780441172719"}
+                """;
+
+        // Act
+        BookImportResultDTO result = importService.importNdjson(stream(input));
+
+        // Assert
+        assertEquals(1, result.getImported());
+        assertEquals(5, result.getFailed());
+        assertEquals(List.of(2L, 3L, 5L, 6L, 7L), result.getErrors().stream().map(BookImportErrorDTO::getRow).toList());
+        assertEquals("Title is required", result.getErrors().get(0).getMessage());
+        assertEquals("A book with ISBN taken already exists", result.getErrors().get(2).getMessage());
+        assertEquals("Authors not found with ids: [9]", result.getErrors().get(3).getMessage());
+        assertEquals("ISBN 9780441172719 appears more than once in the import", result.getErrors().get(4).getMessage());
+        verify(bookRepository).insertAuthorLinks(Map.of(100L, Set.of(1L, 5L)));
+        verify(eventPublisher).publishEvent(BookChangedEvent.saved(List.of(100L)));
+    }
+
+    @Test
+    void importCsv_ShouldSplitListColumnsAndReuseAuthorLookups() {
+        // Arrange
+        when(bookRepository.findExistingIsbns(any())).thenReturn(List.of());
+        when(authorRepository.findByNameIn(Set.of("Frank Herbert", "Brian Herbert"))).thenReturn(List.of(
+                Author.builder().id(1L).name("Frank Herbert").build(),
+                Author.builder().id(2L).name("Brian Herbert").build()));
+        String input = """
+                id,title,isbn,subGenre,authors,collections
+                7,Dune,9780441172719,SPACE_OPERA,Frank Herbert;Brian Herbert,Favourites
+                8,Dune Messiah,,,Frank Herbert,
+                """;
+
+        // Act
+        BookImportResultDTO result = importService.importCsv(stream(input));
+
+        // Assert
+        assertEquals(2, result.getImported());
+        assertEquals(0, result.getFailed());
+        Map<Long, Set<Long>> links = new LinkedHashMap<>();
+        links.put(100L, Set.of(1L, 2L));
+        links.put(101L, Set.of(1L));
+        verify(bookRepository).insertAuthorLinks(links);
+        verify(authorRepository, times(1)).findByNameIn(any());
+        verify(authorRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void importNdjson_WhenBatchFails_ShouldRetryRowByRow() {
+        // Arrange
+        when(bookRepository.findExistingIsbns(any())).thenReturn(List.of());
+        when(bookRepository.insertBooks(anyList())).thenAnswer(invocation -> {
+            List<Book> books = invocation.getArgument(0);
+            if (books.stream().anyMatch(book -> book.getTitle().equals("Bad"))) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            return books.stream().map(book -> nextBookId.getAndIncrement()).toList();
+        });
+        String input = """
+                {"title":"Good"}
+                {"title":"Bad"}
+                {"title":"Also good"}
+                """;
+
+        // Act
+        BookImportResultDTO result = importService.importNdjson(stream(input));
+
+        // Assert
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(2L, result.getErrors().get(0).getRow());
+        assertEquals("Could not save book: value too long", result.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void importNdjson_WhenAnAuthorCannotBeCreated_ShouldRejectOnlyTheRowsUsingIt() {
+        // Arrange
+        when(bookRepository.findExistingIsbns(any())).thenReturn(List.of());
+        when(authorRepository.findByNameIn(any())).thenReturn(List.of());
+        AtomicLong nextAuthorId = new AtomicLong(50);
+        when(authorRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Author> authors = invocation.getArgument(0);
+            if (authors.stream().anyMatch(author -> author.getName().equals("Refused"))) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            authors.forEach(author -> author.setId(nextAuthorId.getAndIncrement()));
+            return authors;
+        });
+        String longName = "x".repeat(256);
+        String input = """
+                {"title":"Good","authors":["Frank Herbert"]}
+                {"title":"Bad","authors":["Refused"]}
+                {"title":"Too long","authors":["%s"]}
+                """.formatted(longName);
+
+        // Act
+        BookImportResultDTO result = importService.importNdjson(stream(input));
+
+        // Assert
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(List.of(2L, 3L), result.getErrors().stream().map(BookImportErrorDTO::getRow).toList());
+        assertEquals("Could not create author: value too long", result.getErrors().get(0).getMessage());
+        assertEquals("Author names must not exceed 255 characters", result.getErrors().get(1).getMessage());
+        verify(bookRepository).insertAuthorLinks(Map.of(100L, Set.of(50L)));
+    }
+
+    @Test
+    void importNdjson_WithLoadedIsbnFilter_ShouldOnlyQueryIsbnsThatMightExist() {
+        // Arrange
+        when(bookRepository.findIsbnsAfter(eq(""), any())).thenReturn(List.of("taken"));
+        when(bookRepository.findIsbnsAfter(eq("taken"), any())).thenReturn(List.of());
+        isbnFilter.rebuild();
+        when(bookRepository.findExistingIsbns(Set.of("taken"))).thenReturn(List.of("taken"));
+        String input = """
+                {"title":"Dune","isbn":"9780441172719"}
+                {"title":"Taken","isbn":"taken"}
+                """;
+
+        // Act
+        BookImportResultDTO result = importService.importNdjson(stream(input));
+
+        // Assert
+        assertEquals(1, result.getImported());
+        assertEquals("A book with ISBN taken already exists", result.getErrors().get(0).getMessage());
+        verify(bookRepository).findExistingIsbns(Set.of("taken"));
+        assertTrue(isbnFilter.mightExist("9780441172719"));
+    }
+
+    private static InputStream stream(String input) {
+        return new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,6 +1,15 @@
 package com.sfcollection.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sfcollection.cache.BookDtoCache;
+import com.sfcollection.cache.CountCache;
+import com.sfcollection.cache.IsbnFilter;
+import com.sfcollection.cache.MissingBookCache;
+import com.sfcollection.cache.SearchResultCache;
 import com.sfcollection.dto.*;
+import com.sfcollection.event.AuthorChangedEvent;
+import com.sfcollection.event.BookChangedEvent;
+import com.sfcollection.event.CollectionChangedEvent;
 import com.sfcollection.exception.ResourceNotFoundException;
 import com.sfcollection.mapper.BookMapper;
 import com.sfcollection.model.Author;
@@ -9,23 +18,38 @@ import com.sfcollection.model.ReadStatus;
 import com.sfcollection.model.SubGenre;
 import com.sfcollection.repository.AuthorRepository;
 import com.sfcollection.repository.BookRepository;
+import com.sfcollection.search.BookBitmapIndex;
+import com.sfcollection.search.BookDocument;
+import com.sfcollection.search.BookSearchIndex;
+import com.sfcollection.search.TrigramBookIndex;
 import com.sfcollection.service.impl.BookServiceImpl;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class BookServiceImplTest {
@@ -37,6 +61,16 @@ class BookServiceImplTest {
     // The mapper will be a concrete test implementation
     private TestBookMapper bookMapper;
     
+    private ApplicationEventPublisher eventPublisher;
+    private BookSearchIndex bookSearchIndex;
+    private TrigramBookIndex trigramBookIndex;
+    private BookBitmapIndex bookBitmapIndex;
+    private EntityManager entityManager;
+    private BookDtoCache bookDtoCache;
+    private SearchResultCache searchResultCache;
+    private MissingBookCache missingBookCache;
+    private IsbnFilter isbnFilter;
+    
     private BookServiceImpl bookService;
 
     private Book testBook;
@@ -56,7 +90,19 @@ class BookServiceImplTest {
         bookMapper = new TestBookMapper();
         
         // Initialize service with mocks and real mapper
-        bookService = new BookServiceImpl(bookRepository, authorRepository, bookMapper);
+        eventPublisher = Mockito.mock(ApplicationEventPublisher.class);
+        bookSearchIndex = new BookSearchIndex();
+        trigramBookIndex = new TrigramBookIndex();
+        bookBitmapIndex = new BookBitmapIndex();
+        entityManager = Mockito.mock(EntityManager.class);
+        bookDtoCache = new BookDtoCache(new ObjectMapper().findAndRegisterModules(), DataSize.ofMegabytes(1), Duration.ofMinutes(1));
+        searchResultCache = new SearchResultCache(100, Duration.ofMinutes(1));
+        missingBookCache = new MissingBookCache(100, Duration.ofMinutes(1));
+        isbnFilter = new IsbnFilter(bookRepository, 0.01, 1000);
+        bookService = new BookServiceImpl(bookRepository, authorRepository, bookMapper,
+                new CountCache(Duration.ofMinutes(1), 100), bookDtoCache, searchResultCache, missingBookCache, isbnFilter,
+                bookSearchIndex, bookBitmapIndex,
+                trigramBookIndex, eventPublisher, entityManager, Mockito.mock(PlatformTransactionManager.class));
         
         // Set up test data
         testBook = Book.builder()
@@ -146,6 +192,120 @@ class BookServiceImplTest {
         assertEquals(testBookDTO.getId(), result.getId());
         assertEquals(testBookDTO.getTitle(), result.getTitle());
         verify(bookRepository).save(any(Book.class));
+        verify(eventPublisher).publishEvent(BookChangedEvent.saved(1L));
+    }
+
+    @Test
+    void createBook_WithIsbnNotInTheLoadedFilter_ShouldSkipTheExistenceQuery() {
+        // Arrange
+        when(bookRepository.findIsbnsAfter(eq(""), any(Pageable.class))).thenReturn(List.of());
+        isbnFilter.rebuild();
+        when(bookRepository.save(any(Book.class))).thenReturn(testBook);
+
+        // Act
+        bookService.createBook(testBookCreateDTO);
+
+        // Assert
+        verify(bookRepository, never()).existsByIsbn(any());
+        assertTrue(isbnFilter.mightExist(testBook.getIsbn()));
+    }
+
+    @Test
+    void createBook_WithIsbnInTheLoadedFilter_ShouldCheckTheDatabase() {
+        // Arrange
+        when(bookRepository.findIsbnsAfter(eq(""), any(Pageable.class))).thenReturn(List.of(testBookCreateDTO.getIsbn()));
+        when(bookRepository.findIsbnsAfter(eq(testBookCreateDTO.getIsbn()), any(Pageable.class))).thenReturn(List.of());
+        isbnFilter.rebuild();
+        when(bookRepository.existsByIsbn(testBookCreateDTO.getIsbn())).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> bookService.createBook(testBookCreateDTO));
+        verify(bookRepository, never()).save(any(Book.class));
+    }
+
+    @Test
+    void getSearchFacets_ShouldCountWithSearchSpecification() {
+        // Arrange
+        BookFacetsDTO facets = BookFacetsDTO.builder()
+                .subGenre(Map.of("SPACE_OPERA", 2L))
+                .build();
+        when(bookRepository.countFacets(any(Specification.class))).thenReturn(facets);
+        
+        // Act
+        BookFacetsDTO result = bookService.getSearchFacets(BookSearchDTO.builder().title("Dune").build());
+        
+        // Assert
+        assertEquals(facets, result);
+        verify(bookRepository).countFacets(any(Specification.class));
+    }
+
+    @Test
+    void fullTextSearch_ShouldReturnBooksInRankedOrder() {
+        // Arrange
+        bookSearchIndex.index(new BookDocument(1L, "Arrakis", "A dune sea", null, null, null, null, null, List.of("Frank Herbert")));
+        bookSearchIndex.index(new BookDocument(2L, "Children of Dune", "The Dune saga continues", null, null, null, null, null,
+                List.of("Frank Herbert")));
+        bookSearchIndex.index(new BookDocument(3L, "Hyperion", null, null, null, null, null, null, List.of("Dan Simmons")));
+        Book secondBook = Book.builder().id(2L).title("Children of Dune").build();
+        
+        // Repository returns rows in arbitrary order
+        when(bookRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(testBook, secondBook));
+        bookMapper.setReturnUpdatedBook(true);
+
+        // Act
+        Page<BookDTO> result = bookService.fullTextSearch("dune", pageable);
+
+        // Assert
+        assertEquals(2, result.getTotalElements());
+        assertEquals(List.of(2L, 1L), result.getContent().stream().map(BookDTO::getId).toList());
+    }
+
+    @Test
+    void fuzzySearch_ShouldTolerateTypos() {
+        // Arrange
+        trigramBookIndex.index(new BookDocument(1L, "Dune", null, null, null, null, null, null, List.of("Frank Herbert")));
+        trigramBookIndex.index(new BookDocument(3L, "Hyperion", null, null, null, null, null, null, List.of("Dan Simmons")));
+        when(bookRepository.findAllById(List.of(1L))).thenReturn(List.of(testBook));
+        
+        // Act
+        Page<BookDTO> result = bookService.fuzzySearch("frank herbet", 0.3, pageable);
+        
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        assertEquals(testBookDTO, result.getContent().get(0));
+    }
+
+    @Test
+    void fuzzySearch_WithThresholdOutOfRange_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> bookService.fuzzySearch("dune", 0, pageable));
+        assertThrows(IllegalArgumentException.class, () -> bookService.fuzzySearch("dune", 1.5, pageable));
+    }
+
+    @Test
+    void filterBooks_ShouldHydrateOnlyRequestedPage() {
+        // Arrange
+        for (long id = 1; id <= 5; id++) {
+            bookBitmapIndex.index(new BookDocument(id, "Book " + id, null, null, "English",
+                    id % 2 == 0 ? SubGenre.CYBERPUNK : SubGenre.SPACE_OPERA, null, null, List.of()));
+        }
+        Book fifth = Book.builder().id(5L).title("Book 5").build();
+        when(bookRepository.findAllById(List.of(5L))).thenReturn(List.of(fifth));
+        bookMapper.setReturnUpdatedBook(true);
+        
+        // Act
+        Page<BookDTO> result = bookService.filterBooks("subGenre:SPACE_OPERA AND language:english",
+                PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "id")));
+        
+        // Assert
+        assertEquals(3, result.getTotalElements());
+        assertEquals(List.of(5L), result.getContent().stream().map(BookDTO::getId).toList());
+        verify(bookRepository).findAllById(List.of(5L));
+    }
+
+    @Test
+    void filterBooks_SortedByTitle_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> bookService.filterBooks("subGenre:CYBERPUNK",
+                PageRequest.of(0, 10, Sort.by("title"))));
     }
 
     @Test
@@ -175,6 +335,82 @@ class BookServiceImplTest {
         verify(bookRepository).findById(99L);
     }
 
+    @Test
+    void getBookById_WithMissingIdAskedAgain_ShouldNotQueryAgainUntilTheIdIsSaved() {
+        // Arrange
+        when(bookRepository.findById(99L)).thenReturn(Optional.empty());
+        assertThrows(ResourceNotFoundException.class, () -> bookService.getBookById(99L));
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> bookService.getBookById(99L));
+        assertThrows(ResourceNotFoundException.class, () -> bookService.deleteBook(99L));
+        verify(bookRepository, times(1)).findById(99L);
+        verify(bookRepository, never()).existsById(99L);
+
+        missingBookCache.onBookChanged(BookChangedEvent.saved(99L));
+        assertThrows(ResourceNotFoundException.class, () -> bookService.getBookById(99L));
+        verify(bookRepository, times(2)).findById(99L);
+    }
+
+    @Test
+    void getBookById_CalledTwice_ShouldLoadOnceAndReturnCopies() {
+        // Arrange
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+
+        // Act
+        BookDTO first = bookService.getBookById(1L);
+        BookDTO second = bookService.getBookById(1L);
+
+        // Assert
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        verify(bookRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getBookById_AfterBookChanged_ShouldReload() {
+        // Arrange
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+        bookService.getBookById(1L);
+
+        // Act
+        bookDtoCache.onBookChanged(BookChangedEvent.saved(2L));
+        bookService.getBookById(1L);
+        bookDtoCache.onBookChanged(BookChangedEvent.saved(1L));
+        bookService.getBookById(1L);
+
+        // Assert
+        verify(bookRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void getBookById_AfterAuthorOrCollectionShownOnTheBookChanged_ShouldReload() {
+        // Arrange
+        testBookDTO.setAuthors(Set.of(AuthorSummaryDTO.builder().id(5L).name("Frank Herbert").build()));
+        testBookDTO.setCollections(Set.of(CollectionSummaryDTO.builder().id(6L).name("Dune Saga").build()));
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+        bookService.getBookById(1L);
+
+        // Act & Assert
+        bookDtoCache.onAuthorChanged(AuthorChangedEvent.saved(7L));
+        bookDtoCache.onCollectionChanged(CollectionChangedEvent.saved(8L));
+        bookService.getBookById(1L);
+        verify(bookRepository, times(1)).findById(1L);
+
+        bookDtoCache.onAuthorChanged(AuthorChangedEvent.saved(5L));
+        bookService.getBookById(1L);
+        verify(bookRepository, times(2)).findById(1L);
+
+        bookDtoCache.onCollectionChanged(CollectionChangedEvent.deleted(6L));
+        bookService.getBookById(1L);
+        verify(bookRepository, times(3)).findById(1L);
+
+        // A book newly added to a collection does not show it yet, so the event names it
+        bookDtoCache.onCollectionChanged(CollectionChangedEvent.booksChanged(8L, List.of(1L)));
+        bookService.getBookById(1L);
+        verify(bookRepository, times(4)).findById(1L);
+    }
+
     @Test
     void getAllBooks_ShouldReturnAllBooks() {
         // Arrange
@@ -200,6 +436,128 @@ class BookServiceImplTest {
         verify(bookRepository).findAll(pageable);
     }
 
+    @Test
+    void getAllBooks_WithCountNone_ShouldReturnSliceWithoutCounting() {
+        // Arrange
+        Slice<Book> bookSlice = new SliceImpl<>(List.of(testBook), pageable, true);
+        when(bookRepository.findAllBy(pageable)).thenReturn(bookSlice);
+
+        // Act
+        Slice<BookDTO> result = bookService.getAllBooks(pageable, CountMode.NONE);
+
+        // Assert
+        assertFalse(result instanceof Page);
+        assertTrue(result.hasNext());
+        verify(bookRepository, never()).findAll(any(Pageable.class));
+        verify(bookRepository, never()).count();
+    }
+
+    @Test
+    void getAllBooks_WithCountEstimated_ShouldReuseCachedCount() {
+        // Arrange
+        Slice<Book> bookSlice = new SliceImpl<>(List.of(testBook), PageRequest.of(0, 1), true);
+        when(bookRepository.findAllBy(PageRequest.of(0, 1))).thenReturn(bookSlice);
+        when(bookRepository.count()).thenReturn(250L);
+
+        // Act
+        Slice<BookDTO> first = bookService.getAllBooks(PageRequest.of(0, 1), CountMode.ESTIMATED);
+        Slice<BookDTO> second = bookService.getAllBooks(PageRequest.of(0, 1), CountMode.ESTIMATED);
+
+        // Assert
+        assertEquals(250L, ((Page<BookDTO>) first).getTotalElements());
+        assertEquals(250L, ((Page<BookDTO>) second).getTotalElements());
+        verify(bookRepository, times(1)).count();
+    }
+
+    @Test
+    void searchBooks_WithCountEstimatedOnLastSlice_ShouldDeriveTotalWithoutCounting() {
+        // Arrange
+        BookSearchDTO searchDTO = BookSearchDTO.builder().title("dune").build();
+        Pageable secondPage = PageRequest.of(1, 10);
+        Slice<Book> bookSlice = new SliceImpl<>(List.of(testBook), secondPage, false);
+        when(bookRepository.findSlice(any(Specification.class), eq(secondPage))).thenReturn(bookSlice);
+
+        // Act
+        Slice<BookDTO> result = bookService.searchBooks(searchDTO, secondPage, CountMode.ESTIMATED);
+
+        // Assert
+        assertEquals(11L, ((Page<BookDTO>) result).getTotalElements());
+        verify(bookRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    void searchBooks_WithAuthorAndOtherFilters_ShouldCombineThemInOneQuery() {
+        // Arrange
+        BookSearchDTO searchDTO = BookSearchDTO.builder()
+                .authorId(1L)
+                .subGenre(SubGenre.SPACE_OPERA)
+                .build();
+        Page<Book> bookPage = new PageImpl<>(List.of(testBook));
+        when(bookRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(bookPage);
+
+        // Act
+        Page<BookDTO> result = bookService.searchBooks(searchDTO, pageable);
+
+        // Assert
+        assertEquals(1, result.getTotalElements());
+        verify(bookRepository).findAll(any(Specification.class), eq(pageable));
+        verify(bookRepository, never()).findByAuthorsId(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void searchBooks_RepeatedWithEquivalentCriteria_ShouldSearchOnceThenLoadById() {
+        // Arrange
+        Page<Book> bookPage = new PageImpl<>(List.of(testBook), pageable, 31);
+        when(bookRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(bookPage);
+        when(bookRepository.findAllById(List.of(1L))).thenReturn(List.of(testBook));
+
+        // Act
+        bookService.searchBooks(BookSearchDTO.builder().title("Dune").build(), pageable);
+        Page<BookDTO> result = bookService.searchBooks(BookSearchDTO.builder().title("DUNE").isbn(" ").build(), pageable);
+
+        // Assert
+        assertEquals(31, result.getTotalElements());
+        assertEquals(List.of(testBookDTO), result.getContent());
+        verify(bookRepository, times(1)).findAll(any(Specification.class), eq(pageable));
+        verify(bookRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    void searchBooks_AfterABookChanged_ShouldSearchAgain() {
+        // Arrange
+        BookSearchDTO searchDTO = BookSearchDTO.builder().subGenre(SubGenre.SPACE_OPERA).build();
+        Slice<Book> bookSlice = new SliceImpl<>(List.of(testBook), pageable, false);
+        when(bookRepository.findSlice(any(Specification.class), eq(pageable))).thenReturn(bookSlice);
+        bookService.searchBooks(searchDTO, pageable, CountMode.NONE);
+
+        // Act
+        searchResultCache.onBookChanged(BookChangedEvent.saved(99L));
+        bookService.searchBooks(searchDTO, pageable, CountMode.NONE);
+
+        // Assert
+        verify(bookRepository, times(2)).findSlice(any(Specification.class), eq(pageable));
+        verify(bookRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void getBooksAfter_ShouldReturnSliceFromKeysetQuery() {
+        // Arrange
+        BookSearchDTO searchDTO = BookSearchDTO.builder().subGenre(SubGenre.SPACE_OPERA).build();
+        BookCursor cursor = BookCursor.decode("", Sort.by("title"));
+        Slice<Book> bookSlice = new SliceImpl<>(List.of(testBook), PageRequest.of(0, 1), true);
+        
+        when(bookRepository.findAfter(any(Specification.class), eq(cursor), eq(1))).thenReturn(bookSlice);
+
+        // Act
+        Slice<BookDTO> result = bookService.getBooksAfter(searchDTO, cursor, 1);
+
+        // Assert
+        assertEquals(1, result.getNumberOfElements());
+        assertTrue(result.hasNext());
+        verify(bookRepository).findAfter(any(Specification.class), eq(cursor), eq(1));
+        verify(bookRepository, never()).count();
+    }
+
     @Test
     void updateBook_WithExistingId_ShouldReturnUpdatedBookDTO() {
         // Arrange
@@ -250,6 +608,20 @@ class BookServiceImplTest {
         assertEquals("Updated Dune", result.getTitle());
         verify(bookRepository).findById(1L);
         verify(bookRepository).save(any(Book.class));
+        verify(authorRepository, never()).replaceBookLinks(anyLong(), any());
+    }
+
+    @Test
+    void patchBook_WithAuthorIds_ShouldReplaceTheLinkRows() {
+        // Arrange
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+        when(bookRepository.save(any(Book.class))).thenReturn(testBook);
+
+        // Act
+        bookService.patchBook(1L, BookPatchDTO.builder().authorIds(Set.of(2L, 3L)).build());
+
+        // Assert
+        verify(authorRepository).replaceBookLinks(1L, Set.of(2L, 3L));
     }
 
     @Test
@@ -264,6 +636,7 @@ class BookServiceImplTest {
         // Assert
         verify(bookRepository).existsById(1L);
         verify(bookRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(BookChangedEvent.deleted(1L));
     }
 
     @Test
@@ -338,6 +711,39 @@ class BookServiceImplTest {
         verify(bookRepository).save(any(Book.class));
     }
     
+    @Test
+    void linkAuthor_ShouldInsertJoinRowAndPublishChange() {
+        when(bookRepository.existsById(1L)).thenReturn(true);
+        when(authorRepository.existsById(2L)).thenReturn(true);
+        when(authorRepository.insertBookLink(2L, 1L)).thenReturn(true);
+
+        bookService.linkAuthor(1L, 2L);
+
+        verify(eventPublisher).publishEvent(BookChangedEvent.saved(1L));
+        verify(bookRepository, never()).findById(anyLong());
+        verify(bookRepository, never()).save(any(Book.class));
+    }
+    
+    @Test
+    void unlinkAuthor_ShouldNotPublishWhenNothingChanged() {
+        when(bookRepository.existsById(1L)).thenReturn(true);
+        when(authorRepository.existsById(2L)).thenReturn(true);
+        when(authorRepository.deleteBookLink(2L, 1L)).thenReturn(false);
+
+        bookService.unlinkAuthor(1L, 2L);
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+    
+    @Test
+    void linkAuthor_ShouldThrowWhenAuthorNotFound() {
+        when(bookRepository.existsById(1L)).thenReturn(true);
+        when(authorRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> bookService.linkAuthor(1L, 99L));
+        verify(authorRepository, never()).insertBookLink(anyLong(), anyLong());
+    }
+    
     @Test
     void getBooksByAuthor_ShouldReturnBooksPage() {
         // Arrange
@@ -371,6 +777,27 @@ class BookServiceImplTest {
         verify(bookRepository).findByCollectionsId(1L, pageable);
     }
     
+    @Test
+    void exportBooks_ShouldFlattenNamesAndClearAfterEachChunk() {
+        // Arrange
+        testBook.getAuthors().add(Author.builder().id(2L).name("Kevin J. Anderson").build());
+        testBook.getAuthors().add(Author.builder().id(1L).name("Brian Herbert").build());
+        List<Book> books = new ArrayList<>(List.of(testBook));
+        IntStream.rangeClosed(2, 501).forEach(id -> books.add(Book.builder().id((long) id).title("Book " + id).build()));
+        when(bookRepository.streamAllByOrderById()).thenReturn(books.stream());
+        List<BookExportDTO> exported = new ArrayList<>();
+
+        // Act
+        bookService.exportBooks(exported::add);
+
+        // Assert
+        assertEquals(501, exported.size());
+        assertEquals(List.of("Brian Herbert", "Kevin J. Anderson"), exported.get(0).getAuthors());
+        assertEquals(List.of(), exported.get(0).getCollections());
+        assertEquals(501L, exported.get(500).getId());
+        verify(entityManager, times(2)).clear();
+    }
+    
     // Test implementation of BookMapper
     public static class TestBookMapper extends BookMapper {
         private Book testBook;
@@ -416,6 +843,11 @@ class BookServiceImplTest {
             }
         }
         
+        @Override
+        protected BookDTO toDtoWithoutLinks(Book book) {
+            return toDto(book);
+        }
+        
         @Override
         public Book toEntity(BookDTO bookDTO) {
             if (bookDTO == null) return null;
@@ -428,6 +860,12 @@ class BookServiceImplTest {
             return testBook;
         }
         
+        @Override
+        public Book importDtoToEntity(BookImportDTO importDTO) {
+            if (importDTO == null) return null;
+            return Book.builder().title(importDTO.getTitle()).isbn(importDTO.getIsbn()).build();
+        }
+        
         @Override
         public void updateDtoToEntity(BookUpdateDTO updateDTO, Book book) {
             if (updateDTO != null && updateDTO.getTitle() != null) {
@@ -464,6 +902,17 @@ class BookServiceImplTest {
                     .build();
         }
         
+        @Override
+        public BookExportDTO toExportDto(Book book) {
+            if (book == null) return null;
+            return BookExportDTO.builder()
+                    .id(book.getId())
+                    .title(book.getTitle())
+                    .authors(authorNames(book.getAuthors()))
+                    .collections(collectionNames(book.getCollections()))
+                    .build();
+        }
+        
         @Override
         public List<BookSummaryDTO> toSummaryDtoList(List<Book> books) {
             if (books == null) return Collections.emptyList();
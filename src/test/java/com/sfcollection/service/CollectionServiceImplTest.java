@@ -1,25 +1,37 @@
 package com.sfcollection.service;
 
+import com.sfcollection.dto.BulkLinkResultDTO;
 import com.sfcollection.dto.CollectionDTO;
+import com.sfcollection.event.CollectionChangedEvent;
 import com.sfcollection.exception.ResourceNotFoundException;
 import com.sfcollection.mapper.CollectionMapper;
+import com.sfcollection.mapper.SummaryLoader;
 import com.sfcollection.model.Book;
 import com.sfcollection.model.Collection;
 import com.sfcollection.repository.BookRepository;
 import com.sfcollection.repository.CollectionRepository;
 import com.sfcollection.service.impl.CollectionServiceImpl;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -35,6 +47,15 @@ class CollectionServiceImplTest {
     @Mock
     private CollectionMapper collectionMapper;
 
+    @Mock
+    private SummaryLoader summaryLoader;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private CollectionServiceImpl collectionService;
 
@@ -91,15 +112,37 @@ class CollectionServiceImplTest {
     void getCollectionById_WithExistingId_ShouldReturnCollectionDTO() {
         // Arrange
         when(collectionRepository.findById(1L)).thenReturn(Optional.of(testCollection));
-        when(collectionMapper.toDto(testCollection)).thenReturn(testCollectionDTO);
+        when(collectionMapper.toDtoWithoutBooks(testCollection)).thenReturn(testCollectionDTO);
 
         // Act
-        CollectionDTO result = collectionService.getCollectionById(1L);
+        CollectionDTO result = collectionService.getCollectionById(1L, true);
 
         // Assert
         assertNotNull(result);
         assertEquals(testCollectionDTO, result);
         verify(collectionRepository, times(1)).findById(1L);
+        verify(summaryLoader, times(1)).loadBooksOfCollections(List.of(testCollectionDTO));
+        verify(collectionMapper, never()).toDto(any());
+    }
+
+    @Test
+    void getCollections_WithoutBooks_ShouldNotMapNestedBooks() {
+        // Arrange
+        List<Collection> collections = Collections.singletonList(testCollection);
+        when(collectionRepository.findById(1L)).thenReturn(Optional.of(testCollection));
+        when(collectionRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(collections));
+        when(collectionMapper.toDtoWithoutBooks(testCollection)).thenReturn(testCollectionDTO);
+
+        // Act
+        CollectionDTO single = collectionService.getCollectionById(1L, false);
+        Page<CollectionDTO> all = collectionService.getAllCollections(PageRequest.of(0, 10), false);
+
+        // Assert
+        assertEquals(testCollectionDTO, single);
+        assertEquals(1, all.getNumberOfElements());
+        verify(collectionMapper, never()).toDto(any());
+        verify(collectionMapper, never()).toDtoList(any());
+        verifyNoInteractions(summaryLoader);
     }
 
     @Test
@@ -109,7 +152,7 @@ class CollectionServiceImplTest {
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> {
-            collectionService.getCollectionById(99L);
+            collectionService.getCollectionById(99L, true);
         });
         verify(collectionRepository, times(1)).findById(99L);
     }
@@ -130,17 +173,35 @@ class CollectionServiceImplTest {
                 .build();
         
         List<Collection> collections = Arrays.asList(testCollection, secondCollection);
-        List<CollectionDTO> collectionDTOs = Arrays.asList(testCollectionDTO, secondCollectionDTO);
-        
-        when(collectionRepository.findAll()).thenReturn(collections);
-        when(collectionMapper.toDtoList(collections)).thenReturn(collectionDTOs);
+        Pageable pageable = PageRequest.of(0, 10);
+        when(collectionRepository.findAll(pageable)).thenReturn(new PageImpl<>(collections, pageable, 2));
+        when(collectionMapper.toDtoWithoutBooks(testCollection)).thenReturn(testCollectionDTO);
+        when(collectionMapper.toDtoWithoutBooks(secondCollection)).thenReturn(secondCollectionDTO);
+
+        // Act
+        Page<CollectionDTO> result = collectionService.getAllCollections(pageable, true);
+
+        // Assert
+        assertEquals(2, result.getNumberOfElements());
+        assertEquals(2, result.getTotalElements());
+        verify(collectionRepository, times(1)).findAll(pageable);
+        verify(summaryLoader, times(1)).loadBooksOfCollections(List.of(testCollectionDTO, secondCollectionDTO));
+    }
+
+    @Test
+    void streamCollections_ShouldMapAndDetachEachCollection() {
+        // Arrange
+        when(collectionRepository.streamAllByOrderById()).thenReturn(Stream.of(testCollection));
+        when(collectionMapper.toDtoWithoutBooks(testCollection)).thenReturn(testCollectionDTO);
+        List<CollectionDTO> streamed = new ArrayList<>();
 
         // Act
-        List<CollectionDTO> result = collectionService.getAllCollections();
+        collectionService.streamCollections(streamed::add);
 
         // Assert
-        assertEquals(2, result.size());
-        verify(collectionRepository, times(1)).findAll();
+        assertEquals(Collections.singletonList(testCollectionDTO), streamed);
+        verify(entityManager, times(1)).detach(testCollection);
+        verify(collectionMapper, never()).toDto(any());
     }
 
     @Test
@@ -150,14 +211,15 @@ class CollectionServiceImplTest {
         List<CollectionDTO> collectionDTOs = Collections.singletonList(testCollectionDTO);
         
         when(collectionRepository.findByNameContainingIgnoreCase(anyString())).thenReturn(collections);
-        when(collectionMapper.toDtoList(collections)).thenReturn(collectionDTOs);
+        when(collectionMapper.toDtoListWithoutBooks(collections)).thenReturn(collectionDTOs);
 
         // Act
-        List<CollectionDTO> result = collectionService.searchCollectionsByName("Classics");
+        List<CollectionDTO> result = collectionService.searchCollectionsByName("Classics", true);
 
         // Assert
         assertEquals(1, result.size());
         verify(collectionRepository, times(1)).findByNameContainingIgnoreCase("Classics");
+        verify(summaryLoader, times(1)).loadBooksOfCollections(collectionDTOs);
     }
 
     @Test
@@ -212,6 +274,7 @@ class CollectionServiceImplTest {
         // Assert
         verify(collectionRepository, times(1)).existsById(1L);
         verify(collectionRepository, times(1)).deleteById(1L);
+        verify(eventPublisher).publishEvent(CollectionChangedEvent.deleted(1L));
     }
 
     @Test
@@ -234,24 +297,48 @@ class CollectionServiceImplTest {
     }
 
     @Test
-    void addBooksToCollection_ShouldReturnUpdatedCollectionDTO() {
+    void addBooksToCollection_ShouldReportAddedPresentAndMissing() {
         // Arrange
-        List<Long> bookIds = Collections.singletonList(1L);
+        List<Long> bookIds = Arrays.asList(1L, 2L, 3L, 2L);
         
-        when(collectionRepository.findById(1L)).thenReturn(Optional.of(testCollection));
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
-        when(collectionRepository.save(testCollection)).thenReturn(testCollection);
-        when(collectionMapper.toDto(testCollection)).thenReturn(testCollectionDTO);
+        when(collectionRepository.existsById(1L)).thenReturn(true);
+        when(bookRepository.findExistingIds(Set.of(1L, 2L, 3L))).thenReturn(Arrays.asList(1L, 2L));
+        when(collectionRepository.findLinkedBookIds(1L, Set.of(1L, 2L))).thenReturn(Set.of(2L));
 
         // Act
-        CollectionDTO result = collectionService.addBooksToCollection(1L, bookIds);
+        BulkLinkResultDTO result = collectionService.addBooksToCollection(1L, bookIds);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(testCollectionDTO, result);
-        verify(collectionRepository, times(1)).findById(1L);
-        verify(bookRepository, times(1)).findById(1L);
-        verify(collectionRepository, times(1)).save(testCollection);
+        assertEquals(1, result.getAdded());
+        assertEquals(1, result.getAlreadyPresent());
+        assertEquals(Collections.singletonList(3L), result.getMissing());
+        verify(collectionRepository, times(1)).insertBookLinks(1L, Collections.singletonList(1L));
+        verify(collectionRepository, times(1)).refreshBookCount(1L);
+        verify(bookRepository, never()).findById(anyLong());
+        verify(collectionRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void addBooksToCollection_ShouldSkipWritesWhenNothingToAdd() {
+        when(collectionRepository.existsById(1L)).thenReturn(true);
+        when(bookRepository.findExistingIds(Set.of(1L))).thenReturn(Collections.singletonList(1L));
+        when(collectionRepository.findLinkedBookIds(1L, Set.of(1L))).thenReturn(Set.of(1L));
+
+        BulkLinkResultDTO result = collectionService.addBooksToCollection(1L, Collections.singletonList(1L));
+
+        assertEquals(0, result.getAdded());
+        assertEquals(1, result.getAlreadyPresent());
+        verify(collectionRepository, never()).insertBookLinks(anyLong(), anyList());
+        verify(collectionRepository, never()).refreshBookCount(anyLong());
+    }
+
+    @Test
+    void addBooksToCollection_ShouldThrowWhenCollectionNotFound() {
+        when(collectionRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> collectionService.addBooksToCollection(99L, Collections.singletonList(1L)));
+        verify(bookRepository, never()).findExistingIds(any());
     }
 
     @Test
@@ -286,4 +373,58 @@ class CollectionServiceImplTest {
         verify(bookRepository, times(1)).findById(1L);
         verify(collectionRepository, times(1)).save(any(Collection.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void removeBookFromCollection_ShouldMaintainBookCount() {
+        testCollection.getBooks().add(testBook);
+        testCollection.setBookCount(1);
+
+        when(collectionRepository.findById(1L)).thenReturn(Optional.of(testCollection));
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(testBook));
+        when(collectionRepository.save(testCollection)).thenReturn(testCollection);
+
+        collectionService.removeBookFromCollection(1L, 1L);
+
+        assertEquals(0, testCollection.getBookCount());
+    }
+
+    @Test
+    void repairBookCounts_ShouldReturnRepairedRowCount() {
+        when(collectionRepository.repairBookCounts()).thenReturn(3);
+
+        assertEquals(3, collectionService.repairBookCounts());
+    }
+
+    @Test
+    void linkBook_ShouldInsertJoinRowOnly() {
+        when(collectionRepository.existsById(1L)).thenReturn(true);
+        when(bookRepository.existsById(1L)).thenReturn(true);
+        when(collectionRepository.insertBookLink(1L, 1L)).thenReturn(true);
+
+        collectionService.linkBook(1L, 1L);
+
+        verify(collectionRepository, times(1)).refreshBookCount(1L);
+        verify(collectionRepository, never()).findById(anyLong());
+        verify(collectionRepository, never()).save(any());
+    }
+
+    @Test
+    void unlinkBook_ShouldLeaveCountAloneWhenNotLinked() {
+        when(collectionRepository.existsById(1L)).thenReturn(true);
+        when(bookRepository.existsById(1L)).thenReturn(true);
+        when(collectionRepository.deleteBookLink(1L, 1L)).thenReturn(false);
+
+        collectionService.unlinkBook(1L, 1L);
+
+        verify(collectionRepository, never()).refreshBookCount(anyLong());
+    }
+
+    @Test
+    void linkBook_ShouldThrowWhenBookNotFound() {
+        when(collectionRepository.existsById(1L)).thenReturn(true);
+        when(bookRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> collectionService.linkBook(1L, 99L));
+        verify(collectionRepository, never()).insertBookLink(anyLong(), anyLong());
+    }
+}
@@ -0,0 +1,59 @@
+package com.sfcollection.service;
+
+import com.sfcollection.dto.SuggestionDTO;
+import com.sfcollection.dto.SuggestionType;
+import com.sfcollection.search.BookDocument;
+import com.sfcollection.search.SuggestionIndex;
+import com.sfcollection.service.impl.SuggestionServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestionServiceImplTest {
+
+    private SuggestionIndex suggestionIndex;
+    private SuggestionServiceImpl suggestionService;
+
+    @BeforeEach
+    void setUp() {
+        suggestionIndex = new SuggestionIndex();
+        suggestionService = new SuggestionServiceImpl(suggestionIndex);
+
+        suggestionIndex.index(new BookDocument(1L, "Foundation", null, null, null, null, null, null, List.of()));
+        suggestionIndex.put(SuggestionType.AUTHOR, 1L, "Frank Herbert");
+        suggestionIndex.put(SuggestionType.AUTHOR, 2L, "Isaac Asimov");
+        suggestionIndex.put(SuggestionType.COLLECTION, 1L, "Favourites");
+    }
+
+    @Test
+    void suggest_ShouldOnlySearchRequestedType() {
+        assertEquals(List.of(new SuggestionDTO(1L, "Frank Herbert")),
+                suggestionService.suggest("f", SuggestionType.AUTHOR, 10));
+        assertEquals(List.of(new SuggestionDTO(1L, "Foundation")),
+                suggestionService.suggest("f", SuggestionType.BOOK, 10));
+        assertEquals(List.of(new SuggestionDTO(1L, "Favourites")),
+                suggestionService.suggest("f", SuggestionType.COLLECTION, 10));
+    }
+
+    @Test
+    void suggest_ShouldReflectRemovals() {
+        suggestionIndex.remove(SuggestionType.AUTHOR, 2L);
+
+        assertTrue(suggestionService.suggest("asi", SuggestionType.AUTHOR, 10).isEmpty());
+    }
+
+    @Test
+    void suggest_WithLimitOutOfRange_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> suggestionService.suggest("f", SuggestionType.BOOK, 0));
+        assertThrows(IllegalArgumentException.class, () -> suggestionService.suggest("f", SuggestionType.BOOK, 51));
+    }
+
+    @Test
+    void suggestionType_ShouldRejectUnknownValue() {
+        assertEquals(SuggestionType.AUTHOR, SuggestionType.from("Author"));
+        assertThrows(IllegalArgumentException.class, () -> SuggestionType.from("publisher"));
+    }
+}